@@ -0,0 +1,42 @@
+package com.puresoltechnologies.versioning.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This is the main class of the benchmark jar. It runs the benchmarks selected
+ * by the usual JMH command line options and always adds the GC profiler, so
+ * that allocation rates are reported next to the timings.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args are the JMH command line options, e.g. a regular expression
+     *             selecting the benchmarks to be run.
+     * @throws CommandLineOptionException is thrown in case the command line
+     *                                    options are invalid.
+     * @throws RunnerException            is thrown in case a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+	Options options = new OptionsBuilder() //
+		.parent(new CommandLineOptions(args)) //
+		.addProfiler(GCProfiler.class) //
+		.build();
+	new Runner(options).run();
+    }
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private BenchmarkRunner() {
+    }
+}
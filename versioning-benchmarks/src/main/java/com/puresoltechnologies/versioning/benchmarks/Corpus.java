@@ -0,0 +1,153 @@
+package com.puresoltechnologies.versioning.benchmarks;
+
+import java.util.Random;
+
+import com.puresoltechnologies.versioning.Version;
+
+/**
+ * This class creates reproducible corpora of version strings which resemble
+ * the data found in real package repositories.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class Corpus {
+
+    /**
+     * The number of entries of each corpus. The benchmarks report the time per
+     * entry.
+     */
+    public static final int SIZE = 1024;
+
+    private static final String[] PRE_RELEASE_LABELS = { "alpha", "beta", "rc", "SNAPSHOT", "M", "dev", "pre" };
+
+    private static final String[] INVALID = { "1.2", "1", "v1.2.3", "01.2.3", "1.02.3", "1.2.03", "1.2.3-", "1.2.3+",
+	    "1.2.3-alpha..1", "1.2.3-01", "1.2.3.4", "1.2.3 ", " 1.2.3", "1.2.x", "latest", "", "1..3", "1.2.3-alpha_1",
+	    "99999999999.0.0", "1.2.3+build#5" };
+
+    /**
+     * Creates the named corpus.
+     *
+     * @param name is one of <code>mixed</code>, <code>releases</code>,
+     *             <code>longPreRelease</code> or <code>invalid</code>.
+     * @return An array of version strings is returned.
+     * @throws IllegalArgumentException is thrown in case the name is unknown.
+     */
+    public static String[] create(String name) throws IllegalArgumentException {
+	switch (name) {
+	case "mixed":
+	    return mixed(SIZE);
+	case "releases":
+	    return releases(SIZE);
+	case "longPreRelease":
+	    return longPreRelease(SIZE);
+	case "invalid":
+	    return invalid(SIZE);
+	default:
+	    throw new IllegalArgumentException("Unknown corpus '" + name + "'.");
+	}
+    }
+
+    /**
+     * Parses all strings of a valid corpus.
+     *
+     * @param strings are the version strings.
+     * @return An array of {@link Version}s is returned.
+     */
+    public static Version[] parse(String[] strings) {
+	Version[] versions = new Version[strings.length];
+	for (int index = 0; index < strings.length; index++) {
+	    versions[index] = Version.valueOf(strings[index]);
+	}
+	return versions;
+    }
+
+    /**
+     * Creates release versions only. Most of them have small numbers, some
+     * date-like or build-number-like large ones.
+     */
+    static String[] releases(int size) {
+	Random random = new Random(1);
+	String[] strings = new String[size];
+	for (int index = 0; index < size; index++) {
+	    strings[index] = core(random);
+	}
+	return strings;
+    }
+
+    /**
+     * Creates 70% releases, 25% pre-releases and 5% versions with build metadata.
+     */
+    static String[] mixed(int size) {
+	Random random = new Random(2);
+	String[] strings = new String[size];
+	for (int index = 0; index < size; index++) {
+	    int kind = random.nextInt(100);
+	    String version = core(random);
+	    if (kind >= 70) {
+		version += "-" + PRE_RELEASE_LABELS[random.nextInt(PRE_RELEASE_LABELS.length)];
+		if (random.nextBoolean()) {
+		    version += "." + random.nextInt(20);
+		}
+	    }
+	    if (kind >= 95) {
+		version += "+build." + random.nextInt(10000) + ".sha" + Integer.toHexString(random.nextInt());
+	    }
+	    strings[index] = version;
+	}
+	return strings;
+    }
+
+    /**
+     * Creates pre-releases with long identifier chains which only differ late in
+     * the chain, which is the worst case for pre-release comparison.
+     */
+    static String[] longPreRelease(int size) {
+	Random random = new Random(3);
+	String[] strings = new String[size];
+	for (int index = 0; index < size; index++) {
+	    StringBuilder builder = new StringBuilder("2.0.0-");
+	    int identifiers = 8 + random.nextInt(8);
+	    for (int identifier = 0; identifier < identifiers; identifier++) {
+		if (identifier > 0) {
+		    builder.append('.');
+		}
+		if (identifier < identifiers - 2) {
+		    builder.append(identifier % 2 == 0 ? "feature-branch" : "20190401");
+		} else if (random.nextBoolean()) {
+		    builder.append(random.nextInt(1000));
+		} else {
+		    builder.append(PRE_RELEASE_LABELS[random.nextInt(PRE_RELEASE_LABELS.length)]);
+		}
+	    }
+	    strings[index] = builder.toString();
+	}
+	return strings;
+    }
+
+    /**
+     * Creates invalid strings with typical mistakes.
+     */
+    static String[] invalid(int size) {
+	Random random = new Random(4);
+	String[] strings = new String[size];
+	for (int index = 0; index < size; index++) {
+	    strings[index] = INVALID[random.nextInt(INVALID.length)];
+	}
+	return strings;
+    }
+
+    private static String core(Random random) {
+	int shape = random.nextInt(10);
+	if (shape == 0) {
+	    // date-like versions
+	    return (2010 + random.nextInt(10)) + "." + (1 + random.nextInt(12)) + "." + random.nextInt(10000);
+	}
+	return random.nextInt(shape < 3 ? 1 : 20) + "." + random.nextInt(30) + "." + random.nextInt(50);
+    }
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private Corpus() {
+    }
+}
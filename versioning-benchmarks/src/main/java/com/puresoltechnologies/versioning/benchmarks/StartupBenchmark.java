@@ -0,0 +1,50 @@
+package com.puresoltechnologies.versioning.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puresoltechnologies.versioning.Version;
+import com.puresoltechnologies.versioning.VersionRange;
+
+/**
+ * This benchmark measures the cold start costs of the library: Each fork runs
+ * the benchmark method exactly once in a fresh JVM, so that the time includes
+ * class loading and initialization. Running it with an AppCDS archive of the
+ * benchmark shows the remaining costs after class loading.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, batchSize = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    @Benchmark
+    public Version newVersion() {
+	return new Version(1, 2, 3);
+    }
+
+    @Benchmark
+    public Version newPreReleaseVersion() {
+	return new Version(1, 2, 3, "rc.1", "build.42");
+    }
+
+    @Benchmark
+    public Version valueOf() {
+	return Version.valueOf("1.2.3-rc.1+build.42");
+    }
+
+    @Benchmark
+    public VersionRange versionRange() {
+	return VersionRange.valueOf("[1.0.0, 2.0.0)");
+    }
+}
@@ -0,0 +1,73 @@
+package com.puresoltechnologies.versioning.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puresoltechnologies.versioning.Version;
+
+/**
+ * This benchmark measures {@link Version#compareTo(Version)}. The
+ * <code>samePatch</code> benchmark compares versions which only differ in
+ * their pre-release information, so that the pre-release comparison
+ * dominates.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionCompareBenchmark {
+
+    @Param({ "releases", "mixed", "longPreRelease" })
+    public String corpus;
+
+    private Version[] versions;
+    private Version[] samePatch;
+
+    @Setup
+    public void setup() {
+	versions = Corpus.parse(Corpus.create(corpus));
+	samePatch = new Version[versions.length];
+	for (int index = 0; index < versions.length; index++) {
+	    Version version = versions[index];
+	    String preReleaseInformation = version.getPreReleaseInformation();
+	    samePatch[index] = new Version(1, 0, 0, preReleaseInformation == null ? "rc.1" : preReleaseInformation);
+	}
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void compareTo(Blackhole blackhole) {
+	Version previous = versions[versions.length - 1];
+	for (Version version : versions) {
+	    blackhole.consume(previous.compareTo(version));
+	    previous = version;
+	}
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void samePatch(Blackhole blackhole) {
+	Version previous = samePatch[samePatch.length - 1];
+	for (Version version : samePatch) {
+	    blackhole.consume(previous.compareTo(version));
+	    previous = version;
+	}
+    }
+}
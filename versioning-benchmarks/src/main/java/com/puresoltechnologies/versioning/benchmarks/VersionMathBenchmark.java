@@ -0,0 +1,64 @@
+package com.puresoltechnologies.versioning.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puresoltechnologies.versioning.Version;
+import com.puresoltechnologies.versioning.VersionMath;
+
+/**
+ * This benchmark measures the maximum search of {@link VersionMath} over
+ * catalogs of different sizes, sequentially, with the fork-join reduction and
+ * with a parallel stream.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionMathBenchmark {
+
+    @Param({ "1024", "1048576" })
+    public int size;
+
+    private Version[] versions;
+
+    @Setup
+    public void setup() {
+	Version[] corpus = Corpus.parse(Corpus.create("mixed"));
+	versions = new Version[size];
+	for (int index = 0; index < size; index++) {
+	    versions[index] = corpus[index % corpus.length];
+	}
+    }
+
+    @Benchmark
+    public Version max() {
+	return VersionMath.max(versions);
+    }
+
+    @Benchmark
+    public Version parallelMax() {
+	return VersionMath.parallelMax(versions);
+    }
+
+    @Benchmark
+    public Version streamToMax() {
+	return Arrays.stream(versions).parallel().collect(VersionMath.toMax()).get();
+    }
+}
@@ -0,0 +1,64 @@
+package com.puresoltechnologies.versioning.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puresoltechnologies.versioning.Version;
+
+/**
+ * This benchmark measures {@link Version#valueOf(String)} and
+ * {@link Version#tryParse(CharSequence)} for valid and invalid strings.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionParseBenchmark {
+
+    @Param({ "mixed", "longPreRelease", "invalid" })
+    public String corpus;
+
+    private String[] strings;
+
+    @Setup
+    public void setup() {
+	strings = Corpus.create(corpus);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void valueOf(Blackhole blackhole) {
+	for (String string : strings) {
+	    try {
+		blackhole.consume(Version.valueOf(string));
+	    } catch (IllegalArgumentException e) {
+		blackhole.consume(e);
+	    }
+	}
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void tryParse(Blackhole blackhole) {
+	for (String string : strings) {
+	    blackhole.consume(Version.tryParse(string));
+	}
+    }
+}
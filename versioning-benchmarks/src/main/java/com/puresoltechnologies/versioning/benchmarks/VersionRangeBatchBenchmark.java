@@ -0,0 +1,77 @@
+package com.puresoltechnologies.versioning.benchmarks;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.puresoltechnologies.versioning.Version;
+import com.puresoltechnologies.versioning.VersionArray;
+import com.puresoltechnologies.versioning.VersionRange;
+
+/**
+ * This benchmark compares filtering a stream with
+ * {@link VersionRange#includes(Version)} with the batch methods
+ * {@link VersionRange#includesAll(Version[], BitSet)} and
+ * {@link VersionRange#count(VersionArray)}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionRangeBatchBenchmark {
+
+    @Param({ "1024", "2097152" })
+    public int size;
+
+    private final VersionRange range = VersionRange.valueOf("[1.0.0, 10.0.0)");
+    private final BitSet result = new BitSet();
+    private Version[] versions;
+    private VersionArray array;
+
+    @Setup
+    public void setup() {
+	Version[] corpus = Corpus.parse(Corpus.create("mixed"));
+	versions = new Version[size];
+	for (int index = 0; index < size; index++) {
+	    versions[index] = corpus[index % corpus.length];
+	}
+	array = new VersionArray(Arrays.asList(versions));
+    }
+
+    @Benchmark
+    public long streamFilter() {
+	return Arrays.stream(versions).filter(range::includes).count();
+    }
+
+    @Benchmark
+    public BitSet includesAll() {
+	range.includesAll(versions, result);
+	return result;
+    }
+
+    @Benchmark
+    public int count() {
+	return range.count(versions);
+    }
+
+    @Benchmark
+    public int countVersionArray() {
+	return range.count(array);
+    }
+}
@@ -0,0 +1,81 @@
+package com.puresoltechnologies.versioning.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.puresoltechnologies.versioning.Version;
+import com.puresoltechnologies.versioning.VersionPredicate;
+import com.puresoltechnologies.versioning.VersionRange;
+
+/**
+ * This benchmark measures {@link VersionRange#includes(Version)}, the compiled
+ * {@link VersionPredicate}s and the cached
+ * {@link VersionRange#valueOf(CharSequence)}.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionRangeBenchmark {
+
+    private static final String[] RANGES = { "[1.0.0, 2.0.0)", "^0.3.1", "~2015.4", ">=1.2.0-rc.1 <10.0.0",
+	    "(, 5.0.0]", "[3.0.0, )" };
+
+    @Param({ "mixed", "longPreRelease" })
+    public String corpus;
+
+    private Version[] versions;
+    private VersionRange[] ranges;
+    private VersionPredicate[] predicates;
+
+    @Setup
+    public void setup() {
+	versions = Corpus.parse(Corpus.create(corpus));
+	ranges = new VersionRange[RANGES.length];
+	predicates = new VersionPredicate[RANGES.length];
+	for (int index = 0; index < RANGES.length; index++) {
+	    ranges[index] = VersionRange.valueOf(RANGES[index]);
+	    predicates[index] = ranges[index].compile();
+	}
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void includes(Blackhole blackhole) {
+	for (int index = 0; index < versions.length; index++) {
+	    blackhole.consume(ranges[index % ranges.length].includes(versions[index]));
+	}
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Corpus.SIZE)
+    public void compiled(Blackhole blackhole) {
+	for (int index = 0; index < versions.length; index++) {
+	    blackhole.consume(predicates[index % predicates.length].test(versions[index]));
+	}
+    }
+
+    @Benchmark
+    public void valueOfCached(Blackhole blackhole) {
+	for (String range : RANGES) {
+	    blackhole.consume(VersionRange.valueOf(range));
+	}
+    }
+}
@@ -0,0 +1,189 @@
+package com.puresoltechnologies.versioning;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * This is a bounded, thread-safe cache with CLOCK (second chance) eviction.
+ * Lookups are lock-free and only mark the found entry as referenced. Insertions
+ * are serialized per segment and evict the first entry which was not referenced
+ * since the clock hand passed it the last time.
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <K> is the type of the keys.
+ * @param <V> is the type of the values.
+ */
+final class ClockCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final class Node<K, V> {
+
+	private final K key;
+	private final V value;
+	private volatile boolean referenced;
+
+	private Node(K key, V value) {
+	    super();
+	    this.key = key;
+	    this.value = value;
+	}
+    }
+
+    private static final class Segment<K, V> {
+
+	private final Node<K, V>[] ring;
+	private int size = 0;
+	private int hand = 0;
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Segment(int capacity) {
+	    super();
+	    ring = new Node[capacity];
+	}
+    }
+
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final Segment<K, V>[] segments;
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity is the maximum number of entries to be kept. It needs to be
+     *                 positive.
+     * @throws IllegalArgumentException is thrown in case the capacity is not
+     *                                  positive.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    ClockCache(int capacity) throws IllegalArgumentException {
+	super();
+	if (capacity <= 0) {
+	    throw new IllegalArgumentException("The capacity must be positive, but was " + capacity + ".");
+	}
+	int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(capacity));
+	int segmentCapacity = (capacity + segmentCount - 1) / segmentCount;
+	this.segments = new Segment[segmentCount];
+	for (int index = 0; index < segmentCount; index++) {
+	    segments[index] = new Segment<>(segmentCapacity);
+	}
+	this.capacity = segmentCapacity * segmentCount;
+	this.map = new ConcurrentHashMap<>(this.capacity * 4 / 3 + 1);
+    }
+
+    /**
+     * Looks up the value for a key without taking any lock.
+     *
+     * @param key is the key to look up.
+     * @return The cached value is returned or <code>null</code> in case there is
+     *         no value cached for the key.
+     */
+    V get(K key) {
+	Node<K, V> node = map.get(key);
+	if (node == null) {
+	    misses.increment();
+	    if (VersioningInstrumentation.ENABLED) {
+		VersioningInstrumentation.cacheMiss();
+	    }
+	    return null;
+	}
+	if (!node.referenced) {
+	    node.referenced = true;
+	}
+	hits.increment();
+	if (VersioningInstrumentation.ENABLED) {
+	    VersioningInstrumentation.cacheHit();
+	}
+	return node.value;
+    }
+
+    /**
+     * Looks up the value for a key and creates and caches it in case it is not
+     * present, yet. Concurrent misses for the same key may call the loader more
+     * than once, but all callers get the same canonical value returned.
+     *
+     * @param key    is the key to look up.
+     * @param loader is the {@link Function} to create a missing value. It may
+     *               return <code>null</code>, which is not cached.
+     * @return The canonical value is returned or <code>null</code> in case the
+     *         loader returned <code>null</code>.
+     */
+    V get(K key, Function<? super K, ? extends V> loader) {
+	V value = get(key);
+	if (value != null) {
+	    return value;
+	}
+	value = loader.apply(key);
+	if (value == null) {
+	    return null;
+	}
+	return put(key, value);
+    }
+
+    private V put(K key, V value) {
+	Segment<K, V> segment = segments[spread(key.hashCode()) & (segments.length - 1)];
+	synchronized (segment) {
+	    Node<K, V> existing = map.get(key);
+	    if (existing != null) {
+		return existing.value;
+	    }
+	    Node<K, V> node = new Node<>(key, value);
+	    Node<K, V>[] ring = segment.ring;
+	    if (segment.size < ring.length) {
+		ring[segment.size] = node;
+		segment.size++;
+	    } else {
+		int hand = segment.hand;
+		while (ring[hand].referenced) {
+		    ring[hand].referenced = false;
+		    hand = (hand + 1) % ring.length;
+		}
+		map.remove(ring[hand].key, ring[hand]);
+		ring[hand] = node;
+		segment.hand = (hand + 1) % ring.length;
+	    }
+	    map.put(key, node);
+	    return value;
+	}
+    }
+
+    private static int spread(int hash) {
+	return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Removes all entries. The hit and miss counters are kept.
+     */
+    void clear() {
+	for (Segment<K, V> segment : segments) {
+	    synchronized (segment) {
+		for (int index = 0; index < segment.size; index++) {
+		    map.remove(segment.ring[index].key, segment.ring[index]);
+		    segment.ring[index] = null;
+		}
+		segment.size = 0;
+		segment.hand = 0;
+	    }
+	}
+    }
+
+    int size() {
+	return map.size();
+    }
+
+    int getCapacity() {
+	return capacity;
+    }
+
+    long getHitCount() {
+	return hits.sum();
+    }
+
+    long getMissCount() {
+	return misses.sum();
+    }
+}
@@ -0,0 +1,279 @@
+package com.puresoltechnologies.versioning;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <p>
+ * This is the {@link VersionPredicate} created by {@link VersionRange#compile()}.
+ * The boundaries are converted into limits of {@link Version#sortKey()}s once,
+ * so that the common check is a single pair of long comparisons.
+ * </p>
+ * <p>
+ * For boundaries with an exact sort key (see {@link Version#hasExactSortKey()})
+ * an included boundary with key <code>k</code> is the same as the excluded
+ * boundary <code>k - 1</code> (or <code>k + 1</code> for the upper boundary),
+ * so that versions with a key on the limit are always outside of the range.
+ * Boundaries with pre-release information or huge version numbers keep their
+ * {@link Version} and only versions with a key on the limit are compared with
+ * {@link Version#compareTo(Version)}.
+ * </p>
+ * <p>
+ * All ranges share this single final class on purpose: A resolver checks many
+ * different ranges at the same call site, which would become megamorphic with a
+ * class per kind of range.
+ * </p>
+ * <p>
+ * Whole arrays are evaluated word by word in tight loops over the sort keys.
+ * The words are only kept in case a bit set is requested, otherwise only the
+ * counts of the included versions are summed up. Large arrays are split at word
+ * boundaries and evaluated in parallel in the common {@link ForkJoinPool}.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+final class CompiledVersionRange implements VersionPredicate {
+
+    /**
+     * The maximum number of versions evaluated by a single task. It is a
+     * multiple of the 64 bits of a word.
+     */
+    private static final int THRESHOLD = 8192;
+
+    /**
+     * This task evaluates the versions between from (inclusive) and to
+     * (exclusive) and returns the number of included versions. In case words are
+     * given, the bits are written into them. From is always a multiple of 64, so
+     * that concurrent tasks never write the same word.
+     */
+    private abstract static class MembershipTask extends RecursiveTask<Integer> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long[] words;
+	private final int from;
+	private final int to;
+
+	private MembershipTask(long[] words, int from, int to) {
+	    super();
+	    this.words = words;
+	    this.from = from;
+	    this.to = to;
+	}
+
+	@Override
+	protected Integer compute() {
+	    if (to - from <= THRESHOLD) {
+		int count = 0;
+		for (int start = from; start < to; start += Long.SIZE) {
+		    long word = evaluateWord(start, Math.min(start + Long.SIZE, to));
+		    if (words != null) {
+			words[start >>> 6] = word;
+		    }
+		    count += Long.bitCount(word);
+		}
+		return count;
+	    }
+	    int middle = ((from + to) >>> 1) & -Long.SIZE;
+	    MembershipTask right = split(middle, to);
+	    right.fork();
+	    int count = split(from, middle).compute();
+	    return count + right.join();
+	}
+
+	/**
+	 * Creates the task for a part of the versions of this task.
+	 */
+	abstract MembershipTask split(int from, int to);
+
+	/**
+	 * Evaluates up to 64 versions into the bits of one word.
+	 */
+	abstract long evaluateWord(int from, int to);
+    }
+
+    private final class ArrayTask extends MembershipTask {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Version[] versions;
+
+	private ArrayTask(Version[] versions, long[] words, int from, int to) {
+	    super(words, from, to);
+	    this.versions = versions;
+	}
+
+	@Override
+	MembershipTask split(int from, int to) {
+	    return new ArrayTask(versions, super.words, from, to);
+	}
+
+	@Override
+	long evaluateWord(int from, int to) {
+	    long word = 0;
+	    for (int index = from; index < to; index++) {
+		if (test(versions[index])) {
+		    word |= 1L << index;
+		}
+	    }
+	    return word;
+	}
+    }
+
+    private final class VersionArrayTask extends MembershipTask {
+
+	private static final long serialVersionUID = 1L;
+
+	private final VersionArray versions;
+
+	private VersionArrayTask(VersionArray versions, long[] words, int from, int to) {
+	    super(words, from, to);
+	    this.versions = versions;
+	}
+
+	@Override
+	MembershipTask split(int from, int to) {
+	    return new VersionArrayTask(versions, super.words, from, to);
+	}
+
+	@Override
+	long evaluateWord(int from, int to) {
+	    long word = 0;
+	    for (int index = from; index < to; index++) {
+		long key = versions.sortKey(index);
+		if (((key > lowerLimit) && (key < upperLimit))
+			|| (needsComparison(key) && isIncludedOnLimit(key, versions.get(index)))) {
+		    word |= 1L << index;
+		}
+	    }
+	    return word;
+	}
+    }
+
+    /**
+     * All versions with a higher sort key satisfy the lower boundary.
+     */
+    private final long lowerLimit;
+    /**
+     * All versions with a lower sort key satisfy the upper boundary.
+     */
+    private final long upperLimit;
+    /**
+     * The lower boundary in case its sort key is not exact, <code>null</code>
+     * otherwise.
+     */
+    private final Version minimum;
+    private final boolean minimumIncluded;
+    /**
+     * The upper boundary in case its sort key is not exact, <code>null</code>
+     * otherwise.
+     */
+    private final Version maximum;
+    private final boolean maximumIncluded;
+
+    CompiledVersionRange(Version minimum, boolean minimumIncluded, Version maximum, boolean maximumIncluded) {
+	super();
+	if (minimum == null) {
+	    this.lowerLimit = 0;
+	    this.minimum = null;
+	} else if (minimum.hasExactSortKey()) {
+	    this.lowerLimit = minimumIncluded ? minimum.sortKey() - 1 : minimum.sortKey();
+	    this.minimum = null;
+	} else {
+	    this.lowerLimit = minimum.sortKey();
+	    this.minimum = minimum;
+	}
+	this.minimumIncluded = minimumIncluded;
+	if (maximum == null) {
+	    this.upperLimit = Long.MAX_VALUE;
+	    this.maximum = null;
+	} else if (maximum.hasExactSortKey()) {
+	    this.upperLimit = maximumIncluded ? maximum.sortKey() + 1 : maximum.sortKey();
+	    this.maximum = null;
+	} else {
+	    this.upperLimit = maximum.sortKey();
+	    this.maximum = maximum;
+	}
+	this.maximumIncluded = maximumIncluded;
+    }
+
+    @Override
+    public boolean test(Version version) {
+	long key = version.sortKey();
+	if ((key > lowerLimit) && (key < upperLimit)) {
+	    return true;
+	}
+	return isIncludedOnLimit(key, version);
+    }
+
+    /**
+     * Evaluates all versions of an array.
+     *
+     * @param versions is the array of {@link Version}s to be checked.
+     * @param words    are the words of a bit set which receive the bits of the
+     *                 included versions. They need to cover the whole array. May
+     *                 be <code>null</code> in case only the count is needed.
+     * @return The number of included versions is returned.
+     */
+    int testAll(Version[] versions, long[] words) {
+	return evaluate(new ArrayTask(versions, words, 0, versions.length));
+    }
+
+    /**
+     * Evaluates all versions of a {@link VersionArray} without creating the
+     * {@link Version} objects. The array must not be modified concurrently.
+     *
+     * @param versions is the {@link VersionArray} to be checked.
+     * @param words    are the words of a bit set which receive the bits of the
+     *                 included versions. They need to cover the whole array. May
+     *                 be <code>null</code> in case only the count is needed.
+     * @return The number of included versions is returned.
+     */
+    int testAll(VersionArray versions, long[] words) {
+	return evaluate(new VersionArrayTask(versions, words, 0, versions.size()));
+    }
+
+    private static int evaluate(MembershipTask task) {
+	if (task.to - task.from <= THRESHOLD) {
+	    return task.compute();
+	}
+	return ForkJoinPool.commonPool().invoke(task);
+    }
+
+    /**
+     * Checks whether a key lies on the limit of a boundary without exact key, so
+     * that the version needs to be compared with the boundary.
+     */
+    private boolean needsComparison(long key) {
+	return ((key == lowerLimit) && (minimum != null)) || ((key == upperLimit) && (maximum != null));
+    }
+
+    /**
+     * Checks versions which are not clearly within the limits. Only versions with
+     * a key on the limit of a boundary without exact key can be included.
+     */
+    private boolean isIncludedOnLimit(long key, Version version) {
+	if ((key < lowerLimit) || (key > upperLimit)) {
+	    return false;
+	}
+	if (key == lowerLimit) {
+	    if (minimum == null) {
+		return false;
+	    }
+	    int comparison = minimum.compareTo(version);
+	    if ((comparison > 0) || ((comparison == 0) && !minimumIncluded)) {
+		return false;
+	    }
+	}
+	if (key == upperLimit) {
+	    if (maximum == null) {
+		return false;
+	    }
+	    int comparison = maximum.compareTo(version);
+	    if ((comparison < 0) || ((comparison == 0) && !maximumIncluded)) {
+		return false;
+	    }
+	}
+	return true;
+    }
+}
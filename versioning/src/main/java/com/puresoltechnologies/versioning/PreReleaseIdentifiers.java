@@ -0,0 +1,141 @@
+package com.puresoltechnologies.versioning;
+
+/**
+ * This class keeps the pre-release information of a {@link Version} split into
+ * its dot separated identifiers. Numeric identifiers are kept as numbers and
+ * non-numeric identifiers as interned {@link String}s, so that the comparison
+ * of two pre-release informations needs neither splitting, nor number parsing.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+final class PreReleaseIdentifiers {
+
+    /**
+     * Marks an identifier as non-numeric.
+     */
+    private static final long NON_NUMERIC = -1;
+
+    /**
+     * Marks a numeric identifier which does not fit into a long. These
+     * identifiers are compared by length and digits.
+     */
+    private static final long LARGE_NUMERIC = Long.MAX_VALUE;
+
+    /**
+     * The maximum number of digits which always fit into a long.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Splits the pre-release information into identifiers.
+     *
+     * @param preReleaseInformation is the already verified pre-release information
+     *                              {@link String}.
+     * @return A {@link PreReleaseIdentifiers} object is returned.
+     */
+    static PreReleaseIdentifiers of(String preReleaseInformation) {
+	int count = 1;
+	for (int index = 0; index < preReleaseInformation.length(); index++) {
+	    if (preReleaseInformation.charAt(index) == '.') {
+		count++;
+	    }
+	}
+	String[] identifiers = new String[count];
+	long[] numbers = new long[count];
+	int start = 0;
+	for (int identifier = 0; identifier < count; identifier++) {
+	    int end = preReleaseInformation.indexOf('.', start);
+	    if (end < 0) {
+		end = preReleaseInformation.length();
+	    }
+	    long number = parseNumber(preReleaseInformation, start, end);
+	    String string = preReleaseInformation.substring(start, end);
+	    identifiers[identifier] = number == NON_NUMERIC ? string.intern() : string;
+	    numbers[identifier] = number;
+	    start = end + 1;
+	}
+	return new PreReleaseIdentifiers(identifiers, numbers);
+    }
+
+    private static long parseNumber(String string, int start, int end) {
+	long number = 0;
+	for (int index = start; index < end; index++) {
+	    char c = string.charAt(index);
+	    if ((c < '0') || (c > '9')) {
+		return NON_NUMERIC;
+	    }
+	    number = (number * 10) + (c - '0');
+	}
+	if ((end - start) > MAX_LONG_DIGITS) {
+	    return LARGE_NUMERIC;
+	}
+	return number;
+    }
+
+    private final String[] identifiers;
+    private final long[] numbers;
+
+    private PreReleaseIdentifiers(String[] identifiers, long[] numbers) {
+	super();
+	this.identifiers = identifiers;
+	this.numbers = numbers;
+    }
+
+    /**
+     * Compares these identifiers to others as defined by Semantic Versioning:
+     * Numeric identifiers are compared numerically, non-numeric identifiers
+     * lexically and numeric identifiers have a lower precedence than non-numeric
+     * ones. If all common identifiers are equal, the longer list has the higher
+     * precedence.
+     *
+     * @param other are the other {@link PreReleaseIdentifiers} to compare to.
+     * @return A negative number, zero or a positive number is returned in case
+     *         these identifiers are smaller, equal or greater than the other ones.
+     */
+    int compareTo(PreReleaseIdentifiers other) {
+	int count = Math.min(numbers.length, other.numbers.length);
+	for (int index = 0; index < count; index++) {
+	    long my = numbers[index];
+	    long others = other.numbers[index];
+	    if (my == NON_NUMERIC) {
+		if (others != NON_NUMERIC) {
+		    return 1;
+		}
+		String myIdentifier = identifiers[index];
+		String otherIdentifier = other.identifiers[index];
+		if (myIdentifier != otherIdentifier) {
+		    int result = myIdentifier.compareTo(otherIdentifier);
+		    if (result != 0) {
+			return result;
+		    }
+		}
+	    } else {
+		if (others == NON_NUMERIC) {
+		    return -1;
+		}
+		if (my != others) {
+		    return Long.compare(my, others);
+		}
+		if (my == LARGE_NUMERIC) {
+		    int result = compareLargeNumbers(identifiers[index], other.identifiers[index]);
+		    if (result != 0) {
+			return result;
+		    }
+		}
+	    }
+	}
+	// Everything is equal, now only the number of identifiers can decide...
+	return Integer.compare(numbers.length, other.numbers.length);
+    }
+
+    /**
+     * Numeric identifiers do not have leading zeros, so a longer number is always
+     * greater and numbers of the same length can be compared digit by digit.
+     */
+    private static int compareLargeNumbers(String my, String other) {
+	if (my.length() != other.length()) {
+	    return Integer.compare(my.length(), other.length());
+	}
+	return Integer.signum(my.compareTo(other));
+    }
+}
@@ -0,0 +1,78 @@
+package com.puresoltechnologies.versioning;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+
+/**
+ * This is the serialized form of {@link Version} and {@link VersionRange}. The
+ * objects are written with {@link VersionCodec} instead of the default field
+ * serialization, which keeps the stream small and verifies the data on read.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+final class SerializationProxy implements Externalizable {
+
+    private static final long serialVersionUID = 4829180137125473092L;
+
+    private static final byte VERSION = 1;
+    private static final byte VERSION_RANGE = 2;
+
+    private Object object;
+
+    /**
+     * Constructor needed for {@link Externalizable}.
+     */
+    public SerializationProxy() {
+	super();
+    }
+
+    SerializationProxy(Version version) {
+	super();
+	this.object = version;
+    }
+
+    SerializationProxy(VersionRange versionRange) {
+	super();
+	this.object = versionRange;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+	if (object instanceof Version) {
+	    out.writeByte(VERSION);
+	    VersionCodec.write((Version) object, out);
+	} else {
+	    out.writeByte(VERSION_RANGE);
+	    VersionCodec.write((VersionRange) object, out);
+	}
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+	byte type = in.readByte();
+	try {
+	    switch (type) {
+	    case VERSION:
+		object = VersionCodec.readVersion(in);
+		break;
+	    case VERSION_RANGE:
+		object = VersionCodec.readVersionRange(in);
+		break;
+	    default:
+		throw new InvalidObjectException("Unknown serialized type " + type + ".");
+	    }
+	} catch (IllegalArgumentException e) {
+	    InvalidObjectException exception = new InvalidObjectException(e.getMessage());
+	    exception.initCause(e);
+	    throw exception;
+	}
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+	return object;
+    }
+}
@@ -0,0 +1,65 @@
+package com.puresoltechnologies.versioning;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class assigns dense int codes to {@link String}s, so that columns of
+ * repeated strings can be stored as int arrays. The code 0 is reserved for
+ * <code>null</code>.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    StringDictionary() {
+	super();
+	strings.add(null);
+    }
+
+    /**
+     * Returns the code of a string and assigns a new one if needed.
+     *
+     * @param string is the {@link String} to be encoded. May be
+     *               <code>null</code>.
+     * @return The code is returned. 0 is returned for <code>null</code>.
+     */
+    int encode(String string) {
+	if (string == null) {
+	    return 0;
+	}
+	Integer code = codes.get(string);
+	if (code == null) {
+	    code = strings.size();
+	    strings.add(string);
+	    codes.put(string, code);
+	}
+	return code;
+    }
+
+    /**
+     * Returns the string of a code.
+     *
+     * @param code is the code to be decoded.
+     * @return The {@link String} is returned. <code>null</code> is returned for
+     *         code 0.
+     */
+    String decode(int code) {
+	return strings.get(code);
+    }
+
+    /**
+     * Returns the number of assigned codes including the code for
+     * <code>null</code>.
+     *
+     * @return An int is returned.
+     */
+    int size() {
+	return strings.size();
+    }
+}
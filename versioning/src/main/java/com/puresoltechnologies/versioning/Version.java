@@ -1,8 +1,13 @@
 package com.puresoltechnologies.versioning;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * <p>
@@ -332,27 +337,34 @@ public class Version implements Serializable, Comparable<Version> {
     private static final String BUILD_INFORMATION = BUILD_IDENTIFIER + "(\\." + BUILD_IDENTIFIER + ")*";
 
     /**
-     * The compiled pattern for pre-release information.
+     * The full version regexp is the combination of three numeric identifiers
+     * chained with dots and optional pre-release information connected with a minus
+     * and build information connect by plus.
      */
-    private static final Pattern preReleaseInformationPattern = Pattern.compile(PRE_RELEASE_INFORMATION);
+    private static final String versionRegExp = NUMERIC_IDENTIFIER + "\\." + NUMERIC_IDENTIFIER + "\\."
+	    + NUMERIC_IDENTIFIER + "(-(" + PRE_RELEASE_INFORMATION + "))?(\\+(" + BUILD_INFORMATION + "))?";
 
     /**
-     * The compiled pattern for build information.
+     * Number of bits of the major version within the sort key.
      */
-    private static final Pattern buildMetaDataPattern = Pattern.compile(BUILD_INFORMATION);
+    private static final int SORT_KEY_MAJOR_BITS = 20;
 
     /**
-     * The full version regexp is the combination of three numeric identifiers
-     * chained with dots and optional pre-release information connected with a minus
-     * and build information connect by plus.
+     * Number of bits of the minor version within the sort key.
      */
-    private static final String versionRegExp = NUMERIC_IDENTIFIER + "\\." + NUMERIC_IDENTIFIER + "\\."
-	    + NUMERIC_IDENTIFIER + "(-(" + PRE_RELEASE_INFORMATION + "))?(\\+(" + BUILD_INFORMATION + "))?";
+    private static final int SORT_KEY_MINOR_BITS = 21;
 
     /**
-     * The compiled pattern for a version.
+     * Number of bits of the patch version within the sort key.
      */
-    private static final Pattern versionPattern = Pattern.compile("^" + versionRegExp + "$");
+    private static final int SORT_KEY_PATCH_BITS = 20;
+
+    /**
+     * This bit is set in all computed sort keys, so that a sort key of zero marks
+     * a key which was not computed, yet.
+     */
+    private static final long SORT_KEY_COMPUTED = 1L << (SORT_KEY_MAJOR_BITS + SORT_KEY_MINOR_BITS
+	    + SORT_KEY_PATCH_BITS + 1);
 
     /**
      * This method converts a version string into a {@link Version} object.
@@ -365,16 +377,134 @@ public class Version implements Serializable, Comparable<Version> {
      *                                  the exact issue.
      */
     public static Version valueOf(String versionString) throws IllegalArgumentException {
-	Matcher matcher = versionPattern.matcher(versionString);
-	if (!matcher.matches()) {
+	return valueOf(versionString, 0, versionString.length());
+    }
+
+    /**
+     * This method converts a part of a {@link CharSequence} into a {@link Version}
+     * object without copying the version string first.
+     *
+     * @param text       is a {@link CharSequence} containing the version string.
+     * @param beginIndex is the index of the first character of the version string.
+     * @param endIndex   is the index after the last character of the version
+     *                   string.
+     * @return A {@link Version} object is returned.
+     * @throws IllegalArgumentException  is thrown in case the version string is
+     *                                   not valid.
+     * @throws IndexOutOfBoundsException is thrown in case the indexes are out of
+     *                                   the bounds of the text.
+     */
+    public static Version valueOf(CharSequence text, int beginIndex, int endIndex)
+	    throws IllegalArgumentException, IndexOutOfBoundsException {
+	Objects.checkFromToIndex(beginIndex, endIndex, text.length());
+	return checkParsed(VersionParser.parse(text, beginIndex, endIndex));
+    }
+
+    /**
+     * This method converts a part of a char array into a {@link Version} object
+     * without creating a version {@link String} first. This suits parsers which
+     * expose their character buffers, like JSON parsers.
+     *
+     * @param chars  is a char array containing the version string.
+     * @param offset is the index of the first char of the version string.
+     * @param length is the number of chars of the version string.
+     * @return A {@link Version} object is returned.
+     * @throws IllegalArgumentException  is thrown in case the version string is
+     *                                   not valid.
+     * @throws IndexOutOfBoundsException is thrown in case offset and length are
+     *                                   out of the bounds of the array.
+     */
+    public static Version valueOf(char[] chars, int offset, int length)
+	    throws IllegalArgumentException, IndexOutOfBoundsException {
+	Objects.checkFromIndexSize(offset, length, chars.length);
+	return checkParsed(VersionParser.parse(chars, offset, offset + length));
+    }
+
+    /**
+     * This method converts ASCII (or UTF-8) encoded bytes into a {@link Version}
+     * object without creating a version {@link String} first.
+     *
+     * @param bytes  is a byte array containing the version string.
+     * @param offset is the index of the first byte of the version string.
+     * @param length is the number of bytes of the version string.
+     * @return A {@link Version} object is returned.
+     * @throws IllegalArgumentException  is thrown in case the version string is
+     *                                   not valid.
+     * @throws IndexOutOfBoundsException is thrown in case offset and length are
+     *                                   out of the bounds of the array.
+     */
+    public static Version valueOf(byte[] bytes, int offset, int length)
+	    throws IllegalArgumentException, IndexOutOfBoundsException {
+	Objects.checkFromIndexSize(offset, length, bytes.length);
+	return checkParsed(VersionParser.parse(bytes, offset, offset + length));
+    }
+
+    /**
+     * This method converts the remaining ASCII (or UTF-8) encoded bytes of a
+     * {@link ByteBuffer} into a {@link Version} object without creating a version
+     * {@link String} first. The position of the buffer is not changed.
+     *
+     * @param buffer is a {@link ByteBuffer} containing the version string between
+     *               its position and limit.
+     * @return A {@link Version} object is returned.
+     * @throws IllegalArgumentException is thrown in case the version string is not
+     *                                  valid.
+     */
+    public static Version valueOf(ByteBuffer buffer) throws IllegalArgumentException {
+	return checkParsed(VersionParser.parse(buffer, buffer.position(), buffer.limit()));
+    }
+
+    /**
+     * This method tries to convert a version string into a {@link Version} object.
+     * In contrast to {@link #valueOf(String)} no exception is created for invalid
+     * version strings, which makes it suitable to scan input where most candidates
+     * are no versions.
+     *
+     * @param text is a {@link CharSequence} containing the version string
+     *             candidate.
+     * @return An {@link Optional} with the {@link Version} is returned. The
+     *         {@link Optional} is empty in case the text is not a valid version.
+     */
+    public static Optional<Version> tryParse(CharSequence text) {
+	return Optional.ofNullable(VersionParser.parse(text, 0, text.length()));
+    }
+
+    /**
+     * This method tries to convert a version string into a {@link Version} object
+     * and reports the position and reason of a failure to the provided result. The
+     * result can be reused for many calls.
+     *
+     * @param text   is a {@link CharSequence} containing the version string
+     *               candidate.
+     * @param result is a {@link VersionParseResult} which is filled with the
+     *               outcome.
+     * @return A {@link Version} object is returned. <code>null</code> is returned
+     *         in case the text is not a valid version.
+     */
+    public static Version tryParse(CharSequence text, VersionParseResult result) {
+	return VersionParser.parse(text, 0, text.length(), result);
+    }
+
+    private static Version checkParsed(Version version) throws IllegalArgumentException {
+	if (version == null) {
 	    throw new IllegalArgumentException("The version string must match the pattern '" + versionRegExp + "'.");
 	}
-	int majorVersion = Integer.parseInt(matcher.group(1));
-	int minorVersion = Integer.parseInt(matcher.group(2));
-	int patchVersion = Integer.parseInt(matcher.group(3));
-	String preReleaseInformation = matcher.group(5);
-	String buildMetadata = matcher.group(12);
-	return new Version(majorVersion, minorVersion, patchVersion, preReleaseInformation, buildMetadata);
+	return version;
+    }
+
+    /**
+     * This method returns the canonical {@link Version} object for a version
+     * string out of the shared {@link VersionCache#getDefault()} cache. The version
+     * string is only parsed in case it is not cached, yet.
+     *
+     * @param versionString is a {@link String} containing the version string to be
+     *                      converted.
+     * @return A {@link Version} object is returned.
+     * @throws IllegalArgumentException is thrown in case the version string is not
+     *                                  valid.
+     */
+    public static Version intern(String versionString) throws IllegalArgumentException {
+	return VersionCache.getDefault().intern(versionString);
     }
 
     private final int major;
@@ -382,6 +512,11 @@ public class Version implements Serializable, Comparable<Version> {
     private final int patch;
     private final String preReleaseInformation;
     private final String buildMetadata;
+    private transient PreReleaseIdentifiers preReleaseIdentifiers;
+    private transient long sortKey;
+    private transient String string;
+    private transient int hash;
+    private transient long fingerprint;
 
     /**
      * This default constructor is only convenience for JSON serialization.
@@ -392,6 +527,7 @@ public class Version implements Serializable, Comparable<Version> {
 	patch = -1;
 	preReleaseInformation = null;
 	buildMetadata = null;
+	sortKey = createSortKey();
     }
 
     /**
@@ -464,6 +600,36 @@ public class Version implements Serializable, Comparable<Version> {
 	    this.buildMetadata = buildMetadata;
 	}
 	verify();
+	sortKey = createSortKey();
+    }
+
+    /**
+     * Constructor for version parts which were already checked, e.g. by
+     * {@link VersionParser}. The verification is skipped in case <code>verify</code>
+     * is <code>false</code>.
+     *
+     * @param major                 is the integer of the major version part.
+     * @param minor                 is the integer of the minor version part.
+     * @param patch                 is the integer of the patch version part.
+     * @param preReleaseInformation is the {@link String} of the pre-release part or
+     *                              <code>null</code>. It must not be empty.
+     * @param buildMetadata         is the {@link String} of the build metadata
+     *                              part or <code>null</code>. It must not be
+     *                              empty.
+     * @param verify                specifies whether the parts need to be
+     *                              verified.
+     */
+    Version(int major, int minor, int patch, String preReleaseInformation, String buildMetadata, boolean verify) {
+	super();
+	this.major = major;
+	this.minor = minor;
+	this.patch = patch;
+	this.preReleaseInformation = preReleaseInformation;
+	this.buildMetadata = buildMetadata;
+	if (verify) {
+	    verify();
+	}
+	sortKey = createSortKey();
     }
 
     private void verify() throws IllegalArgumentException {
@@ -477,13 +643,13 @@ public class Version implements Serializable, Comparable<Version> {
 	    throw new IllegalArgumentException("The patch version must not be negative.");
 	}
 	if (preReleaseInformation != null) {
-	    if (!preReleaseInformationPattern.matcher(preReleaseInformation).matches()) {
+	    if (!VersionParser.isPreReleaseInformation(preReleaseInformation)) {
 		throw new IllegalArgumentException("Pre-release information must match the pattern '"
 			+ PRE_RELEASE_INFORMATION + "', but was '" + preReleaseInformation + "'.");
 	    }
 	}
 	if (buildMetadata != null) {
-	    if (!buildMetaDataPattern.matcher(buildMetadata).matches()) {
+	    if (!VersionParser.isBuildMetadata(buildMetadata)) {
 		throw new IllegalArgumentException("Build-metadata information must match the pattern '"
 			+ PRE_RELEASE_INFORMATION + "', but was '" + buildMetadata + "'.");
 	    }
@@ -537,6 +703,105 @@ public class Version implements Serializable, Comparable<Version> {
 	return buildMetadata;
     }
 
+    /**
+     * Checks whether the {@link #sortKey()} of this version alone decides the
+     * comparison with any other version. This is the case for releases with
+     * version numbers which fit into the key: Another version with the same key
+     * has the same major, minor and patch version and no pre-release
+     * information, so that both versions are equal in precedence.
+     *
+     * @return <code>true</code> is returned in case the key is exact.
+     */
+    boolean hasExactSortKey() {
+	return (preReleaseInformation == null) //
+		&& (major >= 0) && (major < (1 << SORT_KEY_MAJOR_BITS) - 1) //
+		&& (minor >= 0) && (minor < (1 << SORT_KEY_MINOR_BITS) - 1) //
+		&& (patch >= 0) && (patch < (1 << SORT_KEY_PATCH_BITS) - 1);
+    }
+
+    /**
+     * <p>
+     * Returns a key which reflects the precedence of this version as far as
+     * possible within a single long. It encodes the major, minor and patch
+     * version and whether pre-release information is present. For two versions
+     * <code>a</code> and <code>b</code> the following holds:
+     * </p>
+     * <ul>
+     * <li>If <code>a.sortKey() &lt; b.sortKey()</code>, then
+     * <code>a.compareTo(b) &lt; 0</code>.</li>
+     * <li>If <code>a.sortKey() == b.sortKey()</code>, the versions need to be
+     * compared with {@link #compareTo(Version)}. This is the case for versions
+     * with equal major, minor and patch version which both have pre-release
+     * information, and for huge version numbers which do not fit into the
+     * key.</li>
+     * </ul>
+     * <p>
+     * {@link #compareTo(Version)} already uses this key, so sorted collections
+     * benefit from it automatically.
+     * </p>
+     *
+     * @return A positive long is returned.
+     */
+    public long sortKey() {
+	long key = sortKey;
+	if (key == 0) {
+	    // The key was not computed by a constructor, e.g. after deserialization.
+	    key = createSortKey();
+	    sortKey = key;
+	}
+	return key;
+    }
+
+    /**
+     * Creates the sort key. Parts which do not fit into their bits saturate and
+     * clear all less significant parts, so that versions which differ only behind
+     * a saturated part get equal keys and are compared completely. Versions with
+     * negative parts, like the one of {@link #Version()}, get the lowest key.
+     */
+    private long createSortKey() {
+	return createSortKey(major, minor, patch, preReleaseInformation != null);
+    }
+
+    /**
+     * Creates the {@link #sortKey()} for the given version parts. This is also
+     * used for versions which are not kept as {@link Version} objects, like the
+     * entries of a {@link VersionArray}.
+     *
+     * @param major      is the major version.
+     * @param minor      is the minor version.
+     * @param patch      is the patch version.
+     * @param preRelease specifies whether pre-release information is present.
+     * @return A positive long is returned.
+     */
+    static long createSortKey(int major, int minor, int patch, boolean preRelease) {
+	long key = SORT_KEY_COMPUTED;
+	long maxMajor = (1L << SORT_KEY_MAJOR_BITS) - 1;
+	long maxMinor = (1L << SORT_KEY_MINOR_BITS) - 1;
+	long maxPatch = (1L << SORT_KEY_PATCH_BITS) - 1;
+	int majorShift = SORT_KEY_MINOR_BITS + SORT_KEY_PATCH_BITS + 1;
+	int minorShift = SORT_KEY_PATCH_BITS + 1;
+	if ((major < 0) || (minor < 0) || (patch < 0)) {
+	    // Lower than 0.0.0 with pre-release information, which has no other bits.
+	    return key;
+	}
+	if (major >= maxMajor) {
+	    return key | (maxMajor << majorShift);
+	}
+	key |= ((long) major) << majorShift;
+	if (minor >= maxMinor) {
+	    return key | (maxMinor << minorShift);
+	}
+	key |= ((long) minor) << minorShift;
+	if (patch >= maxPatch) {
+	    return key | (maxPatch << 1);
+	}
+	key |= ((long) patch) << 1;
+	if (!preRelease) {
+	    key |= 1;
+	}
+	return key;
+    }
+
     /**
      * This method returns whether the current set version is a stable version or
      * not. The Semantic Versioning definition defines all versions with a major
@@ -550,18 +815,72 @@ public class Version implements Serializable, Comparable<Version> {
 	return major > 0;
     }
 
+    /**
+     * Returns the hash code, which is calculated on first use and kept
+     * afterwards like for {@link String}.
+     */
     @Override
     public int hashCode() {
-	final int prime = 31;
-	int result = 1;
-	result = (prime * result) + ((buildMetadata == null) ? 0 : buildMetadata.hashCode());
-	result = (prime * result) + major;
-	result = (prime * result) + minor;
-	result = (prime * result) + patch;
-	result = (prime * result) + ((preReleaseInformation == null) ? 0 : preReleaseInformation.hashCode());
+	int result = hash;
+	if (result == 0) {
+	    final int prime = 31;
+	    result = 1;
+	    result = (prime * result) + ((buildMetadata == null) ? 0 : buildMetadata.hashCode());
+	    result = (prime * result) + major;
+	    result = (prime * result) + minor;
+	    result = (prime * result) + patch;
+	    result = (prime * result) + ((preReleaseInformation == null) ? 0 : preReleaseInformation.hashCode());
+	    hash = result;
+	}
+	return result;
+    }
+
+    /**
+     * <p>
+     * Returns a 64 bit fingerprint of this version for off-heap hash tables and
+     * Bloom filters. Other than {@link #hashCode()}, the fingerprint is wide
+     * enough to make collisions unlikely even for huge sets of versions.
+     * </p>
+     * <p>
+     * The fingerprint is stable across JVMs and releases of this library: It is
+     * the 64 bit FNV-1a hash of the ASCII string representation, finalized with
+     * the MurmurHash3 64 bit mix function. Equal versions have equal
+     * fingerprints.
+     * </p>
+     *
+     * @return A long is returned.
+     */
+    public long fingerprint() {
+	long result = fingerprint;
+	if (result == 0) {
+	    String text = toString();
+	    result = 0xcbf29ce484222325L;
+	    for (int index = 0; index < text.length(); index++) {
+		result ^= text.charAt(index);
+		result *= 0x100000001b3L;
+	    }
+	    result = mix64(result);
+	    fingerprint = result;
+	}
 	return result;
     }
 
+    /**
+     * The finalization mix function of MurmurHash3 spreads all bits of the input
+     * over the whole output.
+     *
+     * @param value is the value to be mixed.
+     * @return The mixed value is returned.
+     */
+    static long mix64(long value) {
+	value ^= value >>> 33;
+	value *= 0xff51afd7ed558ccdL;
+	value ^= value >>> 33;
+	value *= 0xc4ceb9fe1a85ec53L;
+	value ^= value >>> 33;
+	return value;
+    }
+
     @Override
     public boolean equals(Object obj) {
 	if (this == obj) {
@@ -574,6 +893,13 @@ public class Version implements Serializable, Comparable<Version> {
 	    return false;
 	}
 	Version other = (Version) obj;
+	if ((major != other.major) || (minor != other.minor) || (patch != other.patch)) {
+	    return false;
+	}
+	if ((hash != 0) && (other.hash != 0) && (hash != other.hash)) {
+	    // both hashes are known already and they differ
+	    return false;
+	}
 	if (buildMetadata == null) {
 	    if (other.buildMetadata != null) {
 		return false;
@@ -581,15 +907,6 @@ public class Version implements Serializable, Comparable<Version> {
 	} else if (!buildMetadata.equals(other.buildMetadata)) {
 	    return false;
 	}
-	if (major != other.major) {
-	    return false;
-	}
-	if (minor != other.minor) {
-	    return false;
-	}
-	if (patch != other.patch) {
-	    return false;
-	}
 	if (preReleaseInformation == null) {
 	    if (other.preReleaseInformation != null) {
 		return false;
@@ -618,6 +935,14 @@ public class Version implements Serializable, Comparable<Version> {
      */
     @Override
     public int compareTo(Version other) {
+	if (VersioningInstrumentation.ENABLED) {
+	    VersioningInstrumentation.compared();
+	}
+	long key = sortKey();
+	long otherKey = other.sortKey();
+	if (key != otherKey) {
+	    return Long.compare(key, otherKey);
+	}
 	if (major != other.major) {
 	    return Integer.compare(major, other.major);
 	}
@@ -642,75 +967,274 @@ public class Version implements Serializable, Comparable<Version> {
     }
 
     private int comparePreReleaseInformation(Version o) {
-	// We split the strings into identifiers
-	String[] myIdentifiers = preReleaseInformation.split("\\.");
-	String[] otherIdentifiers = o.preReleaseInformation.split("\\.");
-	// Now we check each identifier position one after another...
-	for (int i = 0; i < Math.min(myIdentifiers.length, otherIdentifiers.length); i++) {
-	    String my = myIdentifiers[i];
-	    String other = otherIdentifiers[i];
-	    Integer myDigits = convertToDigits(my);
-	    Integer otherDigits = convertToDigits(other);
-	    if (myDigits == null) {
-		if (otherDigits != null) {
-		    return 1;
-		} else {
-		    int result = my.compareTo(other);
-		    if (result != 0) {
-			return result;
-		    }
-		}
-	    } else {
-		if (otherDigits == null) {
-		    return -1;
-		} else {
-		    int result = myDigits.compareTo(otherDigits);
-		    if (result != 0) {
-			return result;
-		    }
-		}
-	    }
-	}
-	// Everything is equal, now only the length of the identifiers can
-	// decide...
-	if (myIdentifiers.length == otherIdentifiers.length) {
-	    return 0;
-	} else if (myIdentifiers.length > otherIdentifiers.length) {
-	    return 1;
-	} else {
-	    return -1;
-	}
+	return getPreReleaseIdentifiers().compareTo(o.getPreReleaseIdentifiers());
     }
 
-    private Integer convertToDigits(String s) {
-	try {
-	    return Integer.valueOf(s);
-	} catch (NumberFormatException e) {
-	    return null;
+    /**
+     * Returns the pre-release information split into identifiers. The identifiers
+     * are created on first use and kept afterwards. Concurrent first calls may
+     * create the identifiers more than once, which is harmless, because they are
+     * immutable.
+     *
+     * @return A {@link PreReleaseIdentifiers} object is returned. This method must
+     *         only be called in case pre-release information is present.
+     */
+    private PreReleaseIdentifiers getPreReleaseIdentifiers() {
+	PreReleaseIdentifiers identifiers = preReleaseIdentifiers;
+	if (identifiers == null) {
+	    identifiers = PreReleaseIdentifiers.of(preReleaseInformation);
+	    preReleaseIdentifiers = identifiers;
 	}
+	return identifiers;
     }
 
+    /**
+     * Returns the string representation of this version as defined by Semantic
+     * Versioning. The string is created on first use and kept afterwards.
+     */
     @Override
     public String toString() {
-	StringBuffer buffer = new StringBuffer();
-	buffer.append(major);
-	buffer.append('.');
-	buffer.append(minor);
-	buffer.append('.');
-	buffer.append(patch);
+	String result = string;
+	if (result == null) {
+	    result = appendTo(new StringBuilder(getTextLength())).toString();
+	    string = result;
+	}
+	return result;
+    }
+
+    /**
+     * Returns the number of characters of the string representation of this
+     * version. This can be used to size buffers for {@link #writeTo(byte[], int)}
+     * and {@link #writeTo(ByteBuffer)}.
+     *
+     * @return An int is returned.
+     */
+    public int getTextLength() {
+	String result = string;
+	if (result != null) {
+	    return result.length();
+	}
+	int length = getDigitCount(major) + getDigitCount(minor) + getDigitCount(patch) + 2;
 	if (preReleaseInformation != null) {
-	    buffer.append('-');
-	    buffer.append(preReleaseInformation);
+	    length += preReleaseInformation.length() + 1;
 	}
 	if (buildMetadata != null) {
-	    buffer.append('+');
-	    buffer.append(buildMetadata);
+	    length += buildMetadata.length() + 1;
 	}
-	return buffer.toString();
+	return length;
+    }
+
+    /**
+     * Appends the string representation of this version to a
+     * {@link StringBuilder} without creating an intermediate {@link String}.
+     *
+     * @param builder is the {@link StringBuilder} to append to.
+     * @return The provided {@link StringBuilder} is returned.
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+	String result = string;
+	if (result != null) {
+	    return builder.append(result);
+	}
+	builder.append(major).append('.').append(minor).append('.').append(patch);
+	if (preReleaseInformation != null) {
+	    builder.append('-').append(preReleaseInformation);
+	}
+	if (buildMetadata != null) {
+	    builder.append('+').append(buildMetadata);
+	}
+	return builder;
+    }
+
+    /**
+     * Appends the string representation of this version to an
+     * {@link Appendable} like a {@link java.io.Writer} without creating an
+     * intermediate {@link String}.
+     *
+     * @param <A>        is the type of the {@link Appendable}.
+     * @param appendable is the {@link Appendable} to append to.
+     * @return The provided {@link Appendable} is returned.
+     * @throws IOException is thrown in case the {@link Appendable} fails.
+     */
+    public <A extends Appendable> A appendTo(A appendable) throws IOException {
+	String result = string;
+	if (result != null) {
+	    appendable.append(result);
+	    return appendable;
+	}
+	appendDigits(appendable, major);
+	appendable.append('.');
+	appendDigits(appendable, minor);
+	appendable.append('.');
+	appendDigits(appendable, patch);
+	if (preReleaseInformation != null) {
+	    appendable.append('-').append(preReleaseInformation);
+	}
+	if (buildMetadata != null) {
+	    appendable.append('+').append(buildMetadata);
+	}
+	return appendable;
+    }
+
+    /**
+     * Writes the string representation of this version as ASCII bytes into an
+     * array.
+     *
+     * @param bytes  is the byte array to write to.
+     * @param offset is the index of the first byte to be written.
+     * @return The number of written bytes is returned, which is
+     *         {@link #getTextLength()}.
+     * @throws IndexOutOfBoundsException is thrown in case the array is too small.
+     */
+    public int writeTo(byte[] bytes, int offset) throws IndexOutOfBoundsException {
+	int length = getTextLength();
+	Objects.checkFromIndexSize(offset, length, bytes.length);
+	int position = writeDigits(bytes, offset, major);
+	bytes[position++] = '.';
+	position = writeDigits(bytes, position, minor);
+	bytes[position++] = '.';
+	position = writeDigits(bytes, position, patch);
+	if (preReleaseInformation != null) {
+	    bytes[position++] = '-';
+	    position = writeAscii(bytes, position, preReleaseInformation);
+	}
+	if (buildMetadata != null) {
+	    bytes[position++] = '+';
+	    position = writeAscii(bytes, position, buildMetadata);
+	}
+	return length;
+    }
+
+    /**
+     * Writes the string representation of this version as ASCII bytes at the
+     * current position into a {@link ByteBuffer} and advances the position.
+     *
+     * @param buffer is the {@link ByteBuffer} to write to.
+     * @throws BufferOverflowException is thrown in case there are less than
+     *                                 {@link #getTextLength()} bytes remaining.
+     */
+    public void writeTo(ByteBuffer buffer) throws BufferOverflowException {
+	int length = getTextLength();
+	if (buffer.remaining() < length) {
+	    throw new BufferOverflowException();
+	}
+	if (buffer.hasArray()) {
+	    writeTo(buffer.array(), buffer.arrayOffset() + buffer.position());
+	    buffer.position(buffer.position() + length);
+	} else {
+	    int position = writeDigits(buffer, buffer.position(), major);
+	    buffer.put(position++, (byte) '.');
+	    position = writeDigits(buffer, position, minor);
+	    buffer.put(position++, (byte) '.');
+	    position = writeDigits(buffer, position, patch);
+	    if (preReleaseInformation != null) {
+		buffer.put(position++, (byte) '-');
+		position = writeAscii(buffer, position, preReleaseInformation);
+	    }
+	    if (buildMetadata != null) {
+		buffer.put(position++, (byte) '+');
+		position = writeAscii(buffer, position, buildMetadata);
+	    }
+	    buffer.position(position);
+	}
+    }
+
+    /**
+     * Returns the number of characters of a number including the minus sign of
+     * the negative parts of the default version.
+     */
+    private static int getDigitCount(int value) {
+	long remaining = Math.abs((long) value);
+	int count = value < 0 ? 2 : 1;
+	while (remaining >= 10) {
+	    remaining /= 10;
+	    count++;
+	}
+	return count;
+    }
+
+    private static void appendDigits(Appendable appendable, int value) throws IOException {
+	if (value < 0) {
+	    appendable.append('-');
+	}
+	long remaining = Math.abs((long) value);
+	long divisor = 1;
+	while (remaining / divisor >= 10) {
+	    divisor *= 10;
+	}
+	do {
+	    appendable.append((char) ('0' + ((remaining / divisor) % 10)));
+	    divisor /= 10;
+	} while (divisor > 0);
+    }
+
+    private static int writeDigits(byte[] bytes, int offset, int value) {
+	int end = offset + getDigitCount(value);
+	if (value < 0) {
+	    bytes[offset] = '-';
+	}
+	long remaining = Math.abs((long) value);
+	int position = end;
+	do {
+	    bytes[--position] = (byte) ('0' + (remaining % 10));
+	    remaining /= 10;
+	} while (remaining > 0);
+	return end;
+    }
+
+    private static int writeAscii(byte[] bytes, int offset, String string) {
+	int length = string.length();
+	for (int index = 0; index < length; index++) {
+	    bytes[offset + index] = (byte) string.charAt(index);
+	}
+	return offset + length;
+    }
+
+    private static int writeDigits(ByteBuffer buffer, int index, int value) {
+	int end = index + getDigitCount(value);
+	if (value < 0) {
+	    buffer.put(index, (byte) '-');
+	}
+	long remaining = Math.abs((long) value);
+	int position = end;
+	do {
+	    buffer.put(--position, (byte) ('0' + (remaining % 10)));
+	    remaining /= 10;
+	} while (remaining > 0);
+	return end;
+    }
+
+    private static int writeAscii(ByteBuffer buffer, int index, String string) {
+	int length = string.length();
+	for (int offset = 0; offset < length; offset++) {
+	    buffer.put(index + offset, (byte) string.charAt(offset));
+	}
+	return index + length;
     }
 
     @Override
     protected Version clone() {
 	return new Version(major, minor, patch, preReleaseInformation, buildMetadata);
     }
+
+    /**
+     * Replaces this object by its compact serialized form written by
+     * {@link VersionCodec}.
+     *
+     * @return A {@link SerializationProxy} is returned.
+     */
+    private Object writeReplace() {
+	return new SerializationProxy(this);
+    }
+
+    /**
+     * Rejects the default serialized form, which would bypass the verification
+     * of the {@link SerializationProxy}.
+     *
+     * @param in is the {@link ObjectInputStream} to read from.
+     * @throws InvalidObjectException is always thrown.
+     */
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+	throw new InvalidObjectException("Proxy required");
+    }
 }
@@ -0,0 +1,356 @@
+package com.puresoltechnologies.versioning;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>
+ * This class is a compact, columnar store for many {@link Version}s. Major,
+ * minor and patch versions are kept in int arrays and pre-release information
+ * and build metadata are dictionary encoded, so that each entry needs only five
+ * ints instead of a {@link Version} object with its {@link String}s.
+ * {@link Version} objects are only created on demand by {@link #get(int)}.
+ * </p>
+ * <p>
+ * {@link #sort()} is an LSD radix sort over the int columns which orders the
+ * entries by precedence as {@link Version#compareTo(Version)} does. The sort is
+ * stable, so entries which differ only in build metadata keep their order.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersionArray {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int RADIX_BITS = 16;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private final StringDictionary preReleaseDictionary = new StringDictionary();
+    private final StringDictionary buildMetadataDictionary = new StringDictionary();
+    private int[] majors;
+    private int[] minors;
+    private int[] patches;
+    private int[] preReleaseCodes;
+    private int[] buildMetadataCodes;
+    private int size = 0;
+
+    /**
+     * Creates an empty array with a default capacity.
+     */
+    public VersionArray() {
+	this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty array.
+     *
+     * @param initialCapacity is the number of versions which can be added before
+     *                        the columns need to grow.
+     */
+    public VersionArray(int initialCapacity) {
+	super();
+	if (initialCapacity < 0) {
+	    throw new IllegalArgumentException("The initial capacity must not be negative.");
+	}
+	majors = new int[initialCapacity];
+	minors = new int[initialCapacity];
+	patches = new int[initialCapacity];
+	preReleaseCodes = new int[initialCapacity];
+	buildMetadataCodes = new int[initialCapacity];
+    }
+
+    /**
+     * Creates an array containing the given versions.
+     *
+     * @param versions is a {@link Collection} of {@link Version}s to be added.
+     */
+    public VersionArray(Collection<Version> versions) {
+	this(versions.size());
+	for (Version version : versions) {
+	    add(version);
+	}
+    }
+
+    /**
+     * Adds a version at the end of the array.
+     *
+     * @param version is the {@link Version} to be added.
+     * @throws IllegalArgumentException is thrown in case the version has negative
+     *                                  version parts, which is only possible for
+     *                                  the JSON default constructor.
+     */
+    public void add(Version version) throws IllegalArgumentException {
+	if ((version.getMajor() < 0) || (version.getMinor() < 0) || (version.getPatch() < 0)) {
+	    throw new IllegalArgumentException("Version '" + version + "' must not have negative parts.");
+	}
+	if (size == majors.length) {
+	    grow();
+	}
+	majors[size] = version.getMajor();
+	minors[size] = version.getMinor();
+	patches[size] = version.getPatch();
+	preReleaseCodes[size] = preReleaseDictionary.encode(version.getPreReleaseInformation());
+	buildMetadataCodes[size] = buildMetadataDictionary.encode(version.getBuildMetadata());
+	size++;
+    }
+
+    private void grow() {
+	int capacity = Math.max(DEFAULT_CAPACITY, majors.length + (majors.length >> 1));
+	majors = Arrays.copyOf(majors, capacity);
+	minors = Arrays.copyOf(minors, capacity);
+	patches = Arrays.copyOf(patches, capacity);
+	preReleaseCodes = Arrays.copyOf(preReleaseCodes, capacity);
+	buildMetadataCodes = Arrays.copyOf(buildMetadataCodes, capacity);
+    }
+
+    /**
+     * Returns the number of versions in this array.
+     *
+     * @return An int is returned.
+     */
+    public int size() {
+	return size;
+    }
+
+    /**
+     * Returns whether this array contains no versions.
+     *
+     * @return <code>true</code> is returned in case the array is empty.
+     */
+    public boolean isEmpty() {
+	return size == 0;
+    }
+
+    private void checkIndex(int index) {
+	if ((index < 0) || (index >= size)) {
+	    throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size + ".");
+	}
+    }
+
+    /**
+     * Returns the major version at the given index.
+     *
+     * @param index is the index of the version.
+     * @return An int is returned.
+     */
+    public int getMajor(int index) {
+	checkIndex(index);
+	return majors[index];
+    }
+
+    /**
+     * Returns the minor version at the given index.
+     *
+     * @param index is the index of the version.
+     * @return An int is returned.
+     */
+    public int getMinor(int index) {
+	checkIndex(index);
+	return minors[index];
+    }
+
+    /**
+     * Returns the patch version at the given index.
+     *
+     * @param index is the index of the version.
+     * @return An int is returned.
+     */
+    public int getPatch(int index) {
+	checkIndex(index);
+	return patches[index];
+    }
+
+    /**
+     * Returns the pre-release information at the given index.
+     *
+     * @param index is the index of the version.
+     * @return A {@link String} is returned or <code>null</code> in case the version
+     *         has no pre-release information.
+     */
+    public String getPreReleaseInformation(int index) {
+	checkIndex(index);
+	return preReleaseDictionary.decode(preReleaseCodes[index]);
+    }
+
+    /**
+     * Returns the build metadata at the given index.
+     *
+     * @param index is the index of the version.
+     * @return A {@link String} is returned or <code>null</code> in case the version
+     *         has no build metadata.
+     */
+    public String getBuildMetadata(int index) {
+	checkIndex(index);
+	return buildMetadataDictionary.decode(buildMetadataCodes[index]);
+    }
+
+    /**
+     * Returns the {@link Version#sortKey()} of the version at the given index
+     * without creating the {@link Version} object. The index is not checked.
+     */
+    long sortKey(int index) {
+	return Version.createSortKey(majors[index], minors[index], patches[index], preReleaseCodes[index] != 0);
+    }
+
+    /**
+     * Creates the {@link Version} object at the given index.
+     *
+     * @param index is the index of the version.
+     * @return A new {@link Version} object is returned.
+     */
+    public Version get(int index) {
+	checkIndex(index);
+	return new Version(majors[index], minors[index], patches[index],
+		preReleaseDictionary.decode(preReleaseCodes[index]),
+		buildMetadataDictionary.decode(buildMetadataCodes[index]), false);
+    }
+
+    /**
+     * Returns a {@link List} view of this array. The {@link Version} objects are
+     * created on each access.
+     *
+     * @return An unmodifiable {@link List} is returned.
+     */
+    public List<Version> asList() {
+	return new AbstractList<Version>() {
+
+	    @Override
+	    public Version get(int index) {
+		return VersionArray.this.get(index);
+	    }
+
+	    @Override
+	    public int size() {
+		return size;
+	    }
+	};
+    }
+
+    /**
+     * Creates all {@link Version} objects of this array.
+     *
+     * @return A new array of {@link Version}s is returned.
+     */
+    public Version[] toArray() {
+	Version[] versions = new Version[size];
+	for (int index = 0; index < size; index++) {
+	    versions[index] = get(index);
+	}
+	return versions;
+    }
+
+    /**
+     * Sorts this array by version precedence. The sort is stable and the result
+     * is the same as sorting the {@link Version} objects with
+     * {@link Version#compareTo(Version)}.
+     */
+    public void sort() {
+	if (size < 2) {
+	    return;
+	}
+	int[] order = new int[size];
+	for (int index = 0; index < size; index++) {
+	    order[index] = index;
+	}
+	int[] keys = new int[size];
+	int[] orderBuffer = new int[size];
+	int[] keyBuffer = new int[size];
+	int[] counts = new int[RADIX];
+	// Least significant column first, so that the more significant columns
+	// decide and the stable passes keep the order of equal values.
+	int[] preReleaseRanks = createPreReleaseRanks();
+	for (int index = 0; index < size; index++) {
+	    keys[index] = preReleaseRanks[preReleaseCodes[index]];
+	}
+	sortByKeys(order, keys, orderBuffer, keyBuffer, counts);
+	int[][] columns = { patches, minors, majors };
+	for (int[] column : columns) {
+	    for (int index = 0; index < size; index++) {
+		keys[index] = column[order[index]];
+	    }
+	    sortByKeys(order, keys, orderBuffer, keyBuffer, counts);
+	}
+	majors = permute(majors, order);
+	minors = permute(minors, order);
+	patches = permute(patches, order);
+	preReleaseCodes = permute(preReleaseCodes, order);
+	buildMetadataCodes = permute(buildMetadataCodes, order);
+    }
+
+    /**
+     * Sorts the order by the keys with two stable counting sort passes over 16 bit
+     * digits. Passes are skipped in case all keys share the same digit. The
+     * content of the keys is undefined afterwards.
+     */
+    private void sortByKeys(int[] order, int[] keys, int[] orderBuffer, int[] keyBuffer, int[] counts) {
+	int[] sourceOrder = order;
+	int[] sourceKeys = keys;
+	int[] targetOrder = orderBuffer;
+	int[] targetKeys = keyBuffer;
+	for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+	    Arrays.fill(counts, 0);
+	    for (int index = 0; index < size; index++) {
+		counts[(sourceKeys[index] >>> shift) & (RADIX - 1)]++;
+	    }
+	    if (counts[(sourceKeys[0] >>> shift) & (RADIX - 1)] == size) {
+		continue;
+	    }
+	    int position = 0;
+	    for (int digit = 0; digit < RADIX; digit++) {
+		int count = counts[digit];
+		counts[digit] = position;
+		position += count;
+	    }
+	    for (int index = 0; index < size; index++) {
+		int key = sourceKeys[index];
+		int target = counts[(key >>> shift) & (RADIX - 1)]++;
+		targetOrder[target] = sourceOrder[index];
+		targetKeys[target] = key;
+	    }
+	    int[] swap = sourceOrder;
+	    sourceOrder = targetOrder;
+	    targetOrder = swap;
+	    swap = sourceKeys;
+	    sourceKeys = targetKeys;
+	    targetKeys = swap;
+	}
+	if (sourceOrder != order) {
+	    System.arraycopy(sourceOrder, 0, order, 0, size);
+	}
+    }
+
+    /**
+     * Ranks the pre-release information codes by precedence. Versions without
+     * pre-release information (code 0) get the highest rank.
+     */
+    private int[] createPreReleaseRanks() {
+	int codeCount = preReleaseDictionary.size();
+	Integer[] codes = new Integer[codeCount - 1];
+	PreReleaseIdentifiers[] identifiers = new PreReleaseIdentifiers[codeCount];
+	for (int code = 1; code < codeCount; code++) {
+	    codes[code - 1] = code;
+	    identifiers[code] = PreReleaseIdentifiers.of(preReleaseDictionary.decode(code));
+	}
+	Arrays.sort(codes, Comparator.comparing((Integer code) -> identifiers[code], PreReleaseIdentifiers::compareTo));
+	int[] ranks = new int[codeCount];
+	for (int rank = 0; rank < codes.length; rank++) {
+	    ranks[codes[rank]] = rank;
+	}
+	ranks[0] = codes.length;
+	return ranks;
+    }
+
+    private int[] permute(int[] column, int[] order) {
+	int[] permuted = new int[column.length];
+	for (int index = 0; index < size; index++) {
+	    permuted[index] = column[order[index]];
+	}
+	return permuted;
+    }
+}
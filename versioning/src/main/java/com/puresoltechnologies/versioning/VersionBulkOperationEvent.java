@@ -0,0 +1,47 @@
+package com.puresoltechnologies.versioning;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This Flight Recorder event is emitted for bulk operations on many versions,
+ * like loading a version file or publishing a batch of versions.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@Name("com.puresoltechnologies.versioning.BulkOperation")
+@Label("Version Bulk Operation")
+@Category("Versioning")
+@Description("Processes many versions at once")
+final class VersionBulkOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("The name of the operation")
+    String operation;
+
+    @Label("Count")
+    @Description("The number of processed versions")
+    int count;
+
+    static VersionBulkOperationEvent beginEvent() {
+	VersionBulkOperationEvent event = new VersionBulkOperationEvent();
+	if (!event.isEnabled()) {
+	    return null;
+	}
+	event.begin();
+	return event;
+    }
+
+    static void commitEvent(Object event, String operation, int count) {
+	VersionBulkOperationEvent bulkEvent = (VersionBulkOperationEvent) event;
+	bulkEvent.end();
+	if (bulkEvent.shouldCommit()) {
+	    bulkEvent.operation = operation;
+	    bulkEvent.count = count;
+	    bulkEvent.commit();
+	}
+    }
+}
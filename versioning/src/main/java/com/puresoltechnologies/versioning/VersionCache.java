@@ -0,0 +1,123 @@
+package com.puresoltechnologies.versioning;
+
+/**
+ * This class is a bounded, thread-safe cache of canonical {@link Version}
+ * instances keyed by their version strings. Applications which create the same
+ * versions over and over again, e.g. from JSON payloads, can use it to avoid
+ * parsing and to share the instances. Lookups are lock-free, and in case the
+ * cache is full, the least recently referenced entries are evicted by the
+ * CLOCK algorithm.
+ *
+ * {@link Version#intern(String)} uses a shared default instance.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersionCache {
+
+    /**
+     * The default number of versions to be kept in a cache.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final VersionCache defaultCache = new VersionCache(DEFAULT_CAPACITY);
+
+    /**
+     * Returns the shared default cache used by {@link Version#intern(String)}.
+     *
+     * @return A {@link VersionCache} is returned.
+     */
+    public static VersionCache getDefault() {
+	return defaultCache;
+    }
+
+    private final ClockCache<String, Version> cache;
+
+    /**
+     * Creates a new cache with {@link #DEFAULT_CAPACITY}.
+     */
+    public VersionCache() {
+	this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity is the maximum number of versions to be kept. It needs to be
+     *                 positive.
+     * @throws IllegalArgumentException is thrown in case the capacity is not
+     *                                  positive.
+     */
+    public VersionCache(int capacity) throws IllegalArgumentException {
+	super();
+	this.cache = new ClockCache<>(capacity);
+    }
+
+    /**
+     * Returns the canonical {@link Version} for the given version string. The
+     * string is only parsed in case it is not cached, yet.
+     *
+     * @param versionString is a {@link String} containing the version string.
+     * @return The canonical {@link Version} object is returned.
+     * @throws IllegalArgumentException is thrown in case the version string is not
+     *                                  valid.
+     */
+    public Version intern(String versionString) throws IllegalArgumentException {
+	return cache.get(versionString, Version::valueOf);
+    }
+
+    /**
+     * Returns the canonical instance of a {@link Version} which is equal to the
+     * given one. In case there is none, yet, the given one becomes the canonical
+     * instance.
+     *
+     * @param version is the {@link Version} to be interned.
+     * @return The canonical {@link Version} object is returned.
+     */
+    public Version intern(Version version) {
+	return cache.get(version.toString(), key -> version);
+    }
+
+    /**
+     * Removes all versions from this cache. The hit and miss counts are kept.
+     */
+    public void clear() {
+	cache.clear();
+    }
+
+    /**
+     * Returns the number of currently cached versions.
+     *
+     * @return An int is returned.
+     */
+    public int size() {
+	return cache.size();
+    }
+
+    /**
+     * Returns the maximum number of versions to be kept. The capacity is rounded
+     * up to be evenly spread over the internal lock stripes.
+     *
+     * @return An int is returned.
+     */
+    public int getCapacity() {
+	return cache.getCapacity();
+    }
+
+    /**
+     * Returns the number of lookups which found a cached version.
+     *
+     * @return A long is returned.
+     */
+    public long getHitCount() {
+	return cache.getHitCount();
+    }
+
+    /**
+     * Returns the number of lookups which did not find a cached version.
+     *
+     * @return A long is returned.
+     */
+    public long getMissCount() {
+	return cache.getMissCount();
+    }
+}
@@ -0,0 +1,468 @@
+package com.puresoltechnologies.versioning;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>
+ * This class contains a compact binary codec for {@link Version} and
+ * {@link VersionRange}. It is used for Java serialization, too, but can be used
+ * directly to ship versions between processes.
+ * </p>
+ * <p>
+ * A {@link Version} is encoded as variable length integers (7 bits per byte,
+ * least significant group first) for major, minor and patch version, followed
+ * by the length prefixed ASCII bytes of the pre-release information and build
+ * metadata. A length of zero marks missing information. A {@link VersionRange}
+ * is encoded as one flags byte followed by the present boundaries. Arrays are
+ * prefixed with their length.
+ * </p>
+ * <p>
+ * Decoded data is verified like any other version information, so corrupted
+ * data leads to an {@link IllegalArgumentException}. The length of the
+ * pre-release information and build metadata is limited to
+ * {@link #MAXIMUM_STRING_LENGTH}, so that a forged length cannot force the
+ * allocation of huge buffers before any data was read.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersionCodec {
+
+    /**
+     * The maximum number of characters of the pre-release information and of the
+     * build metadata which are written and accepted while reading.
+     */
+    public static final int MAXIMUM_STRING_LENGTH = 4096;
+
+    private static final int MINIMUM_PRESENT = 0x01;
+    private static final int MINIMUM_INCLUDED = 0x02;
+    private static final int MAXIMUM_PRESENT = 0x04;
+    private static final int MAXIMUM_INCLUDED = 0x08;
+    private static final int RANGE_FLAGS = MINIMUM_PRESENT | MINIMUM_INCLUDED | MAXIMUM_PRESENT | MAXIMUM_INCLUDED;
+
+    /**
+     * Returns the number of bytes needed to encode a version.
+     *
+     * @param version is the {@link Version} to be encoded.
+     * @return The number of bytes is returned.
+     */
+    public static int getEncodedSize(Version version) {
+	return getVarIntSize(version.getMajor()) + getVarIntSize(version.getMinor())
+		+ getVarIntSize(version.getPatch()) + getEncodedSize(version.getPreReleaseInformation())
+		+ getEncodedSize(version.getBuildMetadata());
+    }
+
+    /**
+     * Returns the number of bytes needed to encode a version range.
+     *
+     * @param versionRange is the {@link VersionRange} to be encoded.
+     * @return The number of bytes is returned.
+     */
+    public static int getEncodedSize(VersionRange versionRange) {
+	int size = 1;
+	if (versionRange.getMinimum() != null) {
+	    size += getEncodedSize(versionRange.getMinimum());
+	}
+	if (versionRange.getMaximum() != null) {
+	    size += getEncodedSize(versionRange.getMaximum());
+	}
+	return size;
+    }
+
+    private static int getEncodedSize(String string) {
+	return string == null ? 1 : getVarIntSize(string.length()) + string.length();
+    }
+
+    private static int getVarIntSize(int value) {
+	int size = 1;
+	while ((value & ~0x7F) != 0) {
+	    value >>>= 7;
+	    size++;
+	}
+	return size;
+    }
+
+    /**
+     * Writes a version into a {@link DataOutput}.
+     *
+     * @param version is the {@link Version} to be written.
+     * @param output  is the {@link DataOutput} to write to.
+     * @throws IOException              is thrown in case the output cannot be
+     *                                  written.
+     * @throws IllegalArgumentException is thrown in case the pre-release
+     *                                  information or build metadata is longer
+     *                                  than {@link #MAXIMUM_STRING_LENGTH}.
+     */
+    public static void write(Version version, DataOutput output) throws IOException {
+	writeVarInt(version.getMajor(), output);
+	writeVarInt(version.getMinor(), output);
+	writeVarInt(version.getPatch(), output);
+	writeString(version.getPreReleaseInformation(), output);
+	writeString(version.getBuildMetadata(), output);
+    }
+
+    /**
+     * Writes a version range into a {@link DataOutput}.
+     *
+     * @param versionRange is the {@link VersionRange} to be written.
+     * @param output       is the {@link DataOutput} to write to.
+     * @throws IOException is thrown in case the output cannot be written.
+     */
+    public static void write(VersionRange versionRange, DataOutput output) throws IOException {
+	output.writeByte(getFlags(versionRange));
+	if (versionRange.getMinimum() != null) {
+	    write(versionRange.getMinimum(), output);
+	}
+	if (versionRange.getMaximum() != null) {
+	    write(versionRange.getMaximum(), output);
+	}
+    }
+
+    /**
+     * Reads a version from a {@link DataInput}.
+     *
+     * @param input is the {@link DataInput} to read from.
+     * @return A {@link Version} is returned.
+     * @throws IOException              is thrown in case the input cannot be read.
+     * @throws IllegalArgumentException is thrown in case the data is not a valid
+     *                                  version.
+     */
+    public static Version readVersion(DataInput input) throws IOException, IllegalArgumentException {
+	int major = readVarInt(input);
+	int minor = readVarInt(input);
+	int patch = readVarInt(input);
+	String preReleaseInformation = readString(input);
+	String buildMetadata = readString(input);
+	return createVersion(major, minor, patch, preReleaseInformation, buildMetadata);
+    }
+
+    /**
+     * Reads a version range from a {@link DataInput}.
+     *
+     * @param input is the {@link DataInput} to read from.
+     * @return A {@link VersionRange} is returned.
+     * @throws IOException              is thrown in case the input cannot be read.
+     * @throws IllegalArgumentException is thrown in case the data is not a valid
+     *                                  version range.
+     */
+    public static VersionRange readVersionRange(DataInput input) throws IOException, IllegalArgumentException {
+	int flags = input.readUnsignedByte();
+	checkFlags(flags);
+	Version minimum = (flags & MINIMUM_PRESENT) != 0 ? readVersion(input) : null;
+	Version maximum = (flags & MAXIMUM_PRESENT) != 0 ? readVersion(input) : null;
+	return createVersionRange(flags, minimum, maximum);
+    }
+
+    /**
+     * Writes a version into a {@link ByteBuffer} at its current position.
+     *
+     * @param version is the {@link Version} to be written.
+     * @param buffer  is the {@link ByteBuffer} to write to.
+     * @throws java.nio.BufferOverflowException is thrown in case the buffer has not
+     *                                          enough space left. See
+     *                                          {@link #getEncodedSize(Version)}.
+     * @throws IllegalArgumentException         is thrown in case the pre-release
+     *                                          information or build metadata is
+     *                                          longer than
+     *                                          {@link #MAXIMUM_STRING_LENGTH}.
+     */
+    public static void write(Version version, ByteBuffer buffer) {
+	writeVarInt(version.getMajor(), buffer);
+	writeVarInt(version.getMinor(), buffer);
+	writeVarInt(version.getPatch(), buffer);
+	writeString(version.getPreReleaseInformation(), buffer);
+	writeString(version.getBuildMetadata(), buffer);
+    }
+
+    /**
+     * Writes a version range into a {@link ByteBuffer} at its current position.
+     *
+     * @param versionRange is the {@link VersionRange} to be written.
+     * @param buffer       is the {@link ByteBuffer} to write to.
+     * @throws java.nio.BufferOverflowException is thrown in case the buffer has not
+     *                                          enough space left. See
+     *                                          {@link #getEncodedSize(VersionRange)}.
+     */
+    public static void write(VersionRange versionRange, ByteBuffer buffer) {
+	buffer.put((byte) getFlags(versionRange));
+	if (versionRange.getMinimum() != null) {
+	    write(versionRange.getMinimum(), buffer);
+	}
+	if (versionRange.getMaximum() != null) {
+	    write(versionRange.getMaximum(), buffer);
+	}
+    }
+
+    /**
+     * Reads a version from a {@link ByteBuffer} at its current position.
+     *
+     * @param buffer is the {@link ByteBuffer} to read from.
+     * @return A {@link Version} is returned.
+     * @throws IllegalArgumentException         is thrown in case the data is not a
+     *                                          valid version.
+     * @throws java.nio.BufferUnderflowException is thrown in case the buffer ends
+     *                                          within the version.
+     */
+    public static Version readVersion(ByteBuffer buffer) throws IllegalArgumentException {
+	int major = readVarInt(buffer);
+	int minor = readVarInt(buffer);
+	int patch = readVarInt(buffer);
+	String preReleaseInformation = readString(buffer);
+	String buildMetadata = readString(buffer);
+	return createVersion(major, minor, patch, preReleaseInformation, buildMetadata);
+    }
+
+    /**
+     * Reads a version range from a {@link ByteBuffer} at its current position.
+     *
+     * @param buffer is the {@link ByteBuffer} to read from.
+     * @return A {@link VersionRange} is returned.
+     * @throws IllegalArgumentException         is thrown in case the data is not a
+     *                                          valid version range.
+     * @throws java.nio.BufferUnderflowException is thrown in case the buffer ends
+     *                                          within the version range.
+     */
+    public static VersionRange readVersionRange(ByteBuffer buffer) throws IllegalArgumentException {
+	int flags = buffer.get() & 0xFF;
+	checkFlags(flags);
+	Version minimum = (flags & MINIMUM_PRESENT) != 0 ? readVersion(buffer) : null;
+	Version maximum = (flags & MAXIMUM_PRESENT) != 0 ? readVersion(buffer) : null;
+	return createVersionRange(flags, minimum, maximum);
+    }
+
+    /**
+     * Encodes an array of versions.
+     *
+     * @param versions are the {@link Version}s to be encoded.
+     * @return A byte array is returned.
+     */
+    public static byte[] encode(Version... versions) {
+	int size = getVarIntSize(versions.length);
+	for (Version version : versions) {
+	    size += getEncodedSize(version);
+	}
+	ByteBuffer buffer = ByteBuffer.allocate(size);
+	writeVarInt(versions.length, buffer);
+	for (Version version : versions) {
+	    write(version, buffer);
+	}
+	return buffer.array();
+    }
+
+    /**
+     * Encodes an array of version ranges.
+     *
+     * @param versionRanges are the {@link VersionRange}s to be encoded.
+     * @return A byte array is returned.
+     */
+    public static byte[] encode(VersionRange... versionRanges) {
+	int size = getVarIntSize(versionRanges.length);
+	for (VersionRange versionRange : versionRanges) {
+	    size += getEncodedSize(versionRange);
+	}
+	ByteBuffer buffer = ByteBuffer.allocate(size);
+	writeVarInt(versionRanges.length, buffer);
+	for (VersionRange versionRange : versionRanges) {
+	    write(versionRange, buffer);
+	}
+	return buffer.array();
+    }
+
+    /**
+     * Decodes an array of versions created with {@link #encode(Version...)}.
+     *
+     * @param bytes is the byte array to be decoded.
+     * @return An array of {@link Version}s is returned.
+     * @throws IllegalArgumentException is thrown in case the data is not valid.
+     */
+    public static Version[] decodeVersions(byte[] bytes) throws IllegalArgumentException {
+	ByteBuffer buffer = ByteBuffer.wrap(bytes);
+	Version[] versions = new Version[readLength(buffer)];
+	for (int index = 0; index < versions.length; index++) {
+	    versions[index] = readVersion(buffer);
+	}
+	checkFullyRead(buffer);
+	return versions;
+    }
+
+    /**
+     * Decodes an array of version ranges created with
+     * {@link #encode(VersionRange...)}.
+     *
+     * @param bytes is the byte array to be decoded.
+     * @return An array of {@link VersionRange}s is returned.
+     * @throws IllegalArgumentException is thrown in case the data is not valid.
+     */
+    public static VersionRange[] decodeVersionRanges(byte[] bytes) throws IllegalArgumentException {
+	ByteBuffer buffer = ByteBuffer.wrap(bytes);
+	VersionRange[] versionRanges = new VersionRange[readLength(buffer)];
+	for (int index = 0; index < versionRanges.length; index++) {
+	    versionRanges[index] = readVersionRange(buffer);
+	}
+	checkFullyRead(buffer);
+	return versionRanges;
+    }
+
+    private static void checkFullyRead(ByteBuffer buffer) {
+	if (buffer.hasRemaining()) {
+	    throw new IllegalArgumentException("There are " + buffer.remaining() + " unexpected trailing bytes.");
+	}
+    }
+
+    private static Version createVersion(int major, int minor, int patch, String preReleaseInformation,
+	    String buildMetadata) {
+	if ((major == -1) && (minor == -1) && (patch == -1) && (preReleaseInformation == null)
+		&& (buildMetadata == null)) {
+	    // The JSON convenience default version...
+	    return new Version();
+	}
+	return new Version(major, minor, patch, preReleaseInformation, buildMetadata);
+    }
+
+    private static int getFlags(VersionRange versionRange) {
+	int flags = 0;
+	if (versionRange.getMinimum() != null) {
+	    flags |= MINIMUM_PRESENT;
+	}
+	if (versionRange.isMinimumIncluded()) {
+	    flags |= MINIMUM_INCLUDED;
+	}
+	if (versionRange.getMaximum() != null) {
+	    flags |= MAXIMUM_PRESENT;
+	}
+	if (versionRange.isMaximumIncluded()) {
+	    flags |= MAXIMUM_INCLUDED;
+	}
+	return flags;
+    }
+
+    private static void checkFlags(int flags) {
+	if ((flags & ~RANGE_FLAGS) != 0) {
+	    throw new IllegalArgumentException("Invalid version range flags " + flags + ".");
+	}
+    }
+
+    private static VersionRange createVersionRange(int flags, Version minimum, Version maximum) {
+	if ((flags == 0) && (maximum == null)) {
+	    // The JSON convenience default range...
+	    return new VersionRange();
+	}
+	return new VersionRange(minimum, (flags & MINIMUM_INCLUDED) != 0, maximum, (flags & MAXIMUM_INCLUDED) != 0);
+    }
+
+    private static void writeVarInt(int value, DataOutput output) throws IOException {
+	while ((value & ~0x7F) != 0) {
+	    output.writeByte((value & 0x7F) | 0x80);
+	    value >>>= 7;
+	}
+	output.writeByte(value);
+    }
+
+    private static void writeVarInt(int value, ByteBuffer buffer) {
+	while ((value & ~0x7F) != 0) {
+	    buffer.put((byte) ((value & 0x7F) | 0x80));
+	    value >>>= 7;
+	}
+	buffer.put((byte) value);
+    }
+
+    private static int readVarInt(DataInput input) throws IOException {
+	int value = 0;
+	for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+	    int b = input.readUnsignedByte();
+	    value |= (b & 0x7F) << shift;
+	    if ((b & 0x80) == 0) {
+		return value;
+	    }
+	}
+	throw new IllegalArgumentException("Variable length integer is too long.");
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+	int value = 0;
+	for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+	    int b = buffer.get() & 0xFF;
+	    value |= (b & 0x7F) << shift;
+	    if ((b & 0x80) == 0) {
+		return value;
+	    }
+	}
+	throw new IllegalArgumentException("Variable length integer is too long.");
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+	int length = readVarInt(buffer);
+	if ((length < 0) || (length > buffer.remaining())) {
+	    throw new IllegalArgumentException("Invalid length " + length + ".");
+	}
+	return length;
+    }
+
+    private static void checkStringLength(int length) {
+	if ((length < 0) || (length > MAXIMUM_STRING_LENGTH)) {
+	    throw new IllegalArgumentException(
+		    "Invalid length " + length + ", at most " + MAXIMUM_STRING_LENGTH + " characters are supported.");
+	}
+    }
+
+    private static void writeString(String string, DataOutput output) throws IOException {
+	if (string == null) {
+	    output.writeByte(0);
+	    return;
+	}
+	checkStringLength(string.length());
+	writeVarInt(string.length(), output);
+	// Version information only contains ASCII characters.
+	output.writeBytes(string);
+    }
+
+    private static void writeString(String string, ByteBuffer buffer) {
+	if (string == null) {
+	    buffer.put((byte) 0);
+	    return;
+	}
+	checkStringLength(string.length());
+	writeVarInt(string.length(), buffer);
+	for (int index = 0; index < string.length(); index++) {
+	    buffer.put((byte) string.charAt(index));
+	}
+    }
+
+    private static String readString(DataInput input) throws IOException {
+	int length = readVarInt(input);
+	if (length == 0) {
+	    return null;
+	}
+	checkStringLength(length);
+	byte[] bytes = new byte[length];
+	input.readFully(bytes);
+	return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+	int length = readLength(buffer);
+	if (length == 0) {
+	    return null;
+	}
+	checkStringLength(length);
+	if (buffer.hasArray()) {
+	    String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+		    StandardCharsets.US_ASCII);
+	    buffer.position(buffer.position() + length);
+	    return string;
+	}
+	byte[] bytes = new byte[length];
+	buffer.get(bytes);
+	return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private VersionCodec() {
+    }
+}
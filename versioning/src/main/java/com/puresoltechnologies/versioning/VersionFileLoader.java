@@ -0,0 +1,287 @@
+package com.puresoltechnologies.versioning;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <p>
+ * This class loads versions from newline separated text files. The file is
+ * memory mapped and split at line boundaries into chunks which are parsed in
+ * parallel on a {@link ForkJoinPool}, directly from the mapped bytes.
+ * </p>
+ * <p>
+ * Each non-empty line needs to contain exactly one version string. A trailing
+ * carriage return is ignored. Invalid lines do not stop the loading, they are
+ * reported in the {@link Result} with their offset and line number.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersionFileLoader {
+
+    /**
+     * The minimum size of the chunks to be parsed in parallel.
+     */
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+
+    /**
+     * The maximum size of the chunks, which needs to fit into a single
+     * {@link MappedByteBuffer}.
+     */
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    /**
+     * This class describes a line which does not contain a valid version.
+     */
+    public static final class InvalidLine {
+
+	private final long offset;
+	private final long lineNumber;
+	private final String text;
+
+	private InvalidLine(long offset, long lineNumber, String text) {
+	    super();
+	    this.offset = offset;
+	    this.lineNumber = lineNumber;
+	    this.text = text;
+	}
+
+	/**
+	 * Returns the byte offset of the line start within the file.
+	 *
+	 * @return A long is returned.
+	 */
+	public long getOffset() {
+	    return offset;
+	}
+
+	/**
+	 * Returns the line number starting with 1.
+	 *
+	 * @return A long is returned.
+	 */
+	public long getLineNumber() {
+	    return lineNumber;
+	}
+
+	/**
+	 * Returns the text of the line.
+	 *
+	 * @return A {@link String} is returned.
+	 */
+	public String getText() {
+	    return text;
+	}
+
+	@Override
+	public String toString() {
+	    return "line " + lineNumber + " (offset " + offset + "): '" + text + "'";
+	}
+    }
+
+    /**
+     * This class contains the result of loading a version file.
+     */
+    public static final class Result {
+
+	private final Version[] versions;
+	private final List<InvalidLine> invalidLines;
+
+	private Result(Version[] versions, List<InvalidLine> invalidLines) {
+	    super();
+	    this.versions = versions;
+	    this.invalidLines = Collections.unmodifiableList(invalidLines);
+	}
+
+	/**
+	 * Returns the versions of all valid lines in the order of the file.
+	 *
+	 * @return An array of {@link Version}s is returned.
+	 */
+	public Version[] getVersions() {
+	    return versions;
+	}
+
+	/**
+	 * Returns all invalid lines in the order of the file.
+	 *
+	 * @return A {@link List} of {@link InvalidLine}s is returned. The list is
+	 *         empty in case all lines were valid.
+	 */
+	public List<InvalidLine> getInvalidLines() {
+	    return invalidLines;
+	}
+    }
+
+    /**
+     * Loads a version file using the common {@link ForkJoinPool}.
+     *
+     * @param file is the {@link Path} of the file to be loaded.
+     * @return A {@link Result} is returned.
+     * @throws IOException is thrown in case the file cannot be read.
+     */
+    public static Result load(Path file) throws IOException {
+	return load(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads a version file.
+     *
+     * @param file is the {@link Path} of the file to be loaded.
+     * @param pool is the {@link ForkJoinPool} used to parse the chunks.
+     * @return A {@link Result} is returned.
+     * @throws IOException is thrown in case the file cannot be read.
+     */
+    public static Result load(Path file, ForkJoinPool pool) throws IOException {
+	Object event = VersioningInstrumentation.beginBulkOperation();
+	try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+	    long size = channel.size();
+	    long chunkSize = Math.min(MAX_CHUNK_SIZE,
+		    Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4L)));
+	    List<ChunkParser> chunks = new ArrayList<>();
+	    long start = 0;
+	    while (start < size) {
+		long end = findChunkEnd(channel, start + chunkSize, size);
+		chunks.add(new ChunkParser(channel.map(MapMode.READ_ONLY, start, end - start), start));
+		start = end;
+	    }
+	    pool.invoke(new RecursiveAction() {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected void compute() {
+		    invokeAll(chunks);
+		}
+	    });
+	    Result result = merge(chunks);
+	    VersioningInstrumentation.endBulkOperation(event, "VersionFileLoader.load", result.versions.length);
+	    return result;
+	}
+    }
+
+    /**
+     * Finds the end of a chunk, which is the position after the first newline at
+     * or behind the given position, or the end of the file.
+     */
+    private static long findChunkEnd(FileChannel channel, long position, long size) throws IOException {
+	ByteBuffer buffer = ByteBuffer.allocate(256);
+	while (position < size) {
+	    buffer.clear();
+	    int read = channel.read(buffer, position);
+	    if (read <= 0) {
+		break;
+	    }
+	    for (int index = 0; index < read; index++) {
+		if (buffer.get(index) == '\n') {
+		    return position + index + 1;
+		}
+	    }
+	    position += read;
+	}
+	return size;
+    }
+
+    private static Result merge(List<ChunkParser> chunks) {
+	int versionCount = 0;
+	for (ChunkParser chunk : chunks) {
+	    versionCount += chunk.getRawResult().versions.size();
+	}
+	Version[] versions = new Version[versionCount];
+	List<InvalidLine> invalidLines = new ArrayList<>();
+	int versionIndex = 0;
+	long firstLineNumber = 1;
+	for (ChunkParser chunk : chunks) {
+	    ChunkResult result = chunk.getRawResult();
+	    for (Version version : result.versions) {
+		versions[versionIndex++] = version;
+	    }
+	    for (InvalidLine invalidLine : result.invalidLines) {
+		invalidLines.add(new InvalidLine(invalidLine.offset, firstLineNumber + invalidLine.lineNumber,
+			invalidLine.text));
+	    }
+	    firstLineNumber += result.lineCount;
+	}
+	return new Result(versions, invalidLines);
+    }
+
+    private static final class ChunkResult {
+
+	private final List<Version> versions = new ArrayList<>();
+	private final List<InvalidLine> invalidLines = new ArrayList<>();
+	private long lineCount = 0;
+    }
+
+    /**
+     * Parses all lines of one chunk. Line numbers of invalid lines are relative to
+     * the chunk and fixed while merging.
+     */
+    private static final class ChunkParser extends RecursiveTask<ChunkResult> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient MappedByteBuffer buffer;
+	private final long offset;
+
+	private ChunkParser(MappedByteBuffer buffer, long offset) {
+	    super();
+	    this.buffer = buffer;
+	    this.offset = offset;
+	}
+
+	@Override
+	protected ChunkResult compute() {
+	    ChunkResult result = new ChunkResult();
+	    int limit = buffer.limit();
+	    int lineStart = 0;
+	    while (lineStart < limit) {
+		int lineEnd = lineStart;
+		while ((lineEnd < limit) && (buffer.get(lineEnd) != '\n')) {
+		    lineEnd++;
+		}
+		int next = lineEnd + 1;
+		if ((lineEnd > lineStart) && (buffer.get(lineEnd - 1) == '\r')) {
+		    lineEnd--;
+		}
+		if (lineEnd > lineStart) {
+		    Version version = VersionParser.parse(buffer, lineStart, lineEnd);
+		    if (version != null) {
+			result.versions.add(version);
+		    } else {
+			result.invalidLines.add(new InvalidLine(offset + lineStart, result.lineCount,
+				getText(lineStart, lineEnd)));
+		    }
+		}
+		result.lineCount++;
+		lineStart = next;
+	    }
+	    return result;
+	}
+
+	private String getText(int start, int end) {
+	    byte[] bytes = new byte[end - start];
+	    for (int index = start; index < end; index++) {
+		bytes[index - start] = buffer.get(index);
+	    }
+	    return new String(bytes, StandardCharsets.UTF_8);
+	}
+    }
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private VersionFileLoader() {
+    }
+}
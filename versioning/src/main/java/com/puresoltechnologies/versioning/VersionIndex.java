@@ -0,0 +1,180 @@
+package com.puresoltechnologies.versioning;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * This class keeps the versions of a package sorted, so that queries for the
+ * versions included in a {@link VersionRange} are answered by binary search
+ * over the range boundaries instead of checking every version. An index is
+ * immutable and can be shared between threads.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersionIndex {
+
+    private final Version[] versions;
+    private final List<Version> list;
+
+    /**
+     * Creates a new index.
+     *
+     * @param versions is a {@link Collection} of {@link Version}s to be indexed.
+     */
+    public VersionIndex(Collection<Version> versions) {
+	this(versions.toArray(new Version[versions.size()]));
+    }
+
+    /**
+     * Creates a new index.
+     *
+     * @param versions are the {@link Version}s to be indexed. The array is
+     *                 copied.
+     */
+    public VersionIndex(Version... versions) {
+	super();
+	this.versions = versions.clone();
+	Arrays.sort(this.versions);
+	this.list = Collections.unmodifiableList(Arrays.asList(this.versions));
+    }
+
+    /**
+     * Creates an index over an already sorted array, which is not copied.
+     *
+     * @param versions are the sorted {@link Version}s to be indexed.
+     * @return A {@link VersionIndex} is returned.
+     */
+    static VersionIndex ofSorted(Version[] versions) {
+	return new VersionIndex(versions, Collections.unmodifiableList(Arrays.asList(versions)));
+    }
+
+    /**
+     * Sorts versions and drops duplicates. Versions which differ only in their
+     * build metadata are equal in precedence, but not duplicates, so they are not
+     * necessarily neighbours after sorting. Therefore, duplicates are dropped
+     * before sorting.
+     *
+     * @param versions are the {@link Version}s to be sorted.
+     * @return A new sorted array without duplicates is returned. Versions of equal
+     *         precedence keep their order of the given {@link Collection}.
+     */
+    static Version[] sortedUnique(Collection<Version> versions) {
+	Set<Version> unique = new LinkedHashSet<>(versions);
+	Version[] sorted = unique.toArray(new Version[unique.size()]);
+	Arrays.sort(sorted);
+	return sorted;
+    }
+
+    private VersionIndex(Version[] sortedVersions, List<Version> list) {
+	super();
+	this.versions = sortedVersions;
+	this.list = list;
+    }
+
+    /**
+     * Returns the number of indexed versions.
+     *
+     * @return An int is returned.
+     */
+    public int size() {
+	return versions.length;
+    }
+
+    /**
+     * Returns all indexed versions in ascending order.
+     *
+     * @return An unmodifiable {@link List} of {@link Version}s is returned.
+     */
+    public List<Version> getVersions() {
+	return list;
+    }
+
+    /**
+     * Returns the highest version included in the range.
+     *
+     * @param range is the {@link VersionRange} to look into.
+     * @return The highest {@link Version} is returned or an empty
+     *         {@link Optional} in case no version is included.
+     */
+    public Optional<Version> highestIn(VersionRange range) {
+	int from = fromIndex(range);
+	int to = toIndex(range);
+	return from < to ? Optional.of(versions[to - 1]) : Optional.empty();
+    }
+
+    /**
+     * Returns the lowest version included in the range.
+     *
+     * @param range is the {@link VersionRange} to look into.
+     * @return The lowest {@link Version} is returned or an empty {@link Optional}
+     *         in case no version is included.
+     */
+    public Optional<Version> lowestIn(VersionRange range) {
+	int from = fromIndex(range);
+	int to = toIndex(range);
+	return from < to ? Optional.of(versions[from]) : Optional.empty();
+    }
+
+    /**
+     * Returns the number of versions included in the range.
+     *
+     * @param range is the {@link VersionRange} to look into.
+     * @return An int is returned.
+     */
+    public int countIn(VersionRange range) {
+	return Math.max(0, toIndex(range) - fromIndex(range));
+    }
+
+    /**
+     * Returns the versions included in the range. The versions are not copied,
+     * but a view of the index is returned.
+     *
+     * @param range is the {@link VersionRange} to look into.
+     * @return An unmodifiable {@link List} of {@link Version}s is returned in
+     *         ascending order.
+     */
+    public List<Version> sliceIn(VersionRange range) {
+	int from = fromIndex(range);
+	int to = toIndex(range);
+	return from < to ? list.subList(from, to) : Collections.<Version>emptyList();
+    }
+
+    /**
+     * Finds the index of the first version which satisfies the lower boundary.
+     */
+    private int fromIndex(VersionRange range) {
+	int low = 0;
+	int high = versions.length;
+	while (low < high) {
+	    int middle = (low + high) >>> 1;
+	    if (range.isAboveMinimum(versions[middle])) {
+		high = middle;
+	    } else {
+		low = middle + 1;
+	    }
+	}
+	return low;
+    }
+
+    /**
+     * Finds the index after the last version which satisfies the upper boundary.
+     */
+    private int toIndex(VersionRange range) {
+	int low = 0;
+	int high = versions.length;
+	while (low < high) {
+	    int middle = (low + high) >>> 1;
+	    if (range.isBelowMaximum(versions[middle])) {
+		low = middle + 1;
+	    } else {
+		high = middle;
+	    }
+	}
+	return low;
+    }
+}
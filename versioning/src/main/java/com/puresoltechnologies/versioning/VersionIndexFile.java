@@ -0,0 +1,512 @@
+package com.puresoltechnologies.versioning;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * This class is an immutable, memory mapped index of sorted {@link Version}
+ * lists per package. The index is written once with
+ * {@link #write(Path, Map)} and opened with {@link #open(Path)}, which only
+ * maps the file. All queries run directly on the mapped bytes and only create
+ * the {@link Version} objects which are actually looked at, so opening is
+ * independent from the size of the index and the operating system can share
+ * the mapped pages between processes.
+ * </p>
+ * <p>
+ * The file consists of the following sections in big-endian byte order:
+ * </p>
+ * <ol>
+ * <li>A header with magic number, format version, counts and section
+ * offsets.</li>
+ * <li>The package table with one fixed-width record per package, sorted by the
+ * UTF-8 bytes of the package names: name offset, index of the first version
+ * record and number of versions.</li>
+ * <li>A sparse directory with the first eight name bytes of every
+ * {@value #DIRECTORY_INTERVAL}th package, which narrows the binary search in
+ * the package table down to a few records.</li>
+ * <li>The version table with one fixed-width record per version, sorted per
+ * package: major, minor and patch version and the offsets of pre-release
+ * information and build metadata, or -1 if they are not present.</li>
+ * <li>A string heap with the length prefixed UTF-8 bytes of package names,
+ * pre-release information and build metadata. Equal strings are stored only
+ * once.</li>
+ * </ol>
+ * <p>
+ * Index files are limited to 2 GiB. {@link #open(Path)} only checks the
+ * header and the section offsets. All other offsets and lengths are checked on
+ * access and the versions are verified like parsed ones while they are read,
+ * so that a corrupt file leads to an {@link IllegalArgumentException} of the
+ * query which reads the corrupt part.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersionIndexFile {
+
+    private static final int MAGIC = 0x56494458; // "VIDX"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 36;
+    private static final int PACKAGE_RECORD_SIZE = 12;
+    private static final int DIRECTORY_RECORD_SIZE = 12;
+    private static final int VERSION_RECORD_SIZE = 20;
+    private static final int DIRECTORY_INTERVAL = 64;
+    private static final int NO_STRING = -1;
+
+    /**
+     * Writes a new index file. Versions are sorted and duplicates are dropped.
+     *
+     * @param file     is the {@link Path} of the file to be written. An existing
+     *                 file is replaced.
+     * @param versions is a {@link Map} from package names to their
+     *                 {@link Version}s.
+     * @throws IOException              is thrown in case the file cannot be
+     *                                  written.
+     * @throws IllegalArgumentException is thrown in case a version has negative
+     *                                  parts or the index exceeds 2 GiB.
+     */
+    public static void write(Path file, Map<String, ? extends Collection<Version>> versions)
+	    throws IOException, IllegalArgumentException {
+	List<PackageVersions> packages = new ArrayList<>(versions.size());
+	for (Map.Entry<String, ? extends Collection<Version>> entry : versions.entrySet()) {
+	    packages.add(new PackageVersions(entry.getKey(), sortedUnique(entry.getValue())));
+	}
+	packages.sort((first, second) -> compareBytes(first.nameBytes, second.nameBytes));
+
+	// lay out the string heap, so that all offsets are known before writing
+	Map<String, Integer> heapOffsets = new HashMap<>();
+	List<byte[]> heap = new ArrayList<>();
+	long heapSize = 0;
+	long versionCount = 0;
+	for (PackageVersions packageVersions : packages) {
+	    heapSize = addToHeap(packageVersions.name, heapOffsets, heap, heapSize);
+	    for (Version version : packageVersions.versions) {
+		heapSize = addToHeap(version.getPreReleaseInformation(), heapOffsets, heap, heapSize);
+		heapSize = addToHeap(version.getBuildMetadata(), heapOffsets, heap, heapSize);
+		versionCount++;
+	    }
+	}
+	int directoryCount = (packages.size() + DIRECTORY_INTERVAL - 1) / DIRECTORY_INTERVAL;
+	long packagesOffset = HEADER_SIZE;
+	long directoryOffset = packagesOffset + ((long) packages.size() * PACKAGE_RECORD_SIZE);
+	long versionsOffset = directoryOffset + ((long) directoryCount * DIRECTORY_RECORD_SIZE);
+	long heapOffset = versionsOffset + (versionCount * VERSION_RECORD_SIZE);
+	if (heapOffset + heapSize > Integer.MAX_VALUE) {
+	    throw new IllegalArgumentException("The index would exceed the maximum size of 2 GiB.");
+	}
+
+	try (OutputStream stream = Files.newOutputStream(file);
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+	    output.writeInt(MAGIC);
+	    output.writeInt(FORMAT_VERSION);
+	    output.writeInt(packages.size());
+	    output.writeInt((int) versionCount);
+	    output.writeInt(directoryCount);
+	    output.writeInt((int) packagesOffset);
+	    output.writeInt((int) directoryOffset);
+	    output.writeInt((int) versionsOffset);
+	    output.writeInt((int) heapOffset);
+	    int first = 0;
+	    for (PackageVersions packageVersions : packages) {
+		int count = packageVersions.versions.length;
+		output.writeInt((int) heapOffset + heapOffsets.get(packageVersions.name));
+		output.writeInt(first);
+		output.writeInt(count);
+		first += count;
+	    }
+	    for (int index = 0; index < packages.size(); index += DIRECTORY_INTERVAL) {
+		byte[] name = packages.get(index).nameBytes;
+		output.writeLong(prefix(ByteBuffer.wrap(name), 0, name.length));
+		output.writeInt(index);
+	    }
+	    for (PackageVersions packageVersions : packages) {
+		for (Version version : packageVersions.versions) {
+		    output.writeInt(version.getMajor());
+		    output.writeInt(version.getMinor());
+		    output.writeInt(version.getPatch());
+		    output.writeInt(stringOffset(version.getPreReleaseInformation(), heapOffsets, heapOffset));
+		    output.writeInt(stringOffset(version.getBuildMetadata(), heapOffsets, heapOffset));
+		}
+	    }
+	    for (byte[] bytes : heap) {
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	    }
+	}
+    }
+
+    /**
+     * This class keeps the versions of one package while writing an index.
+     */
+    private static final class PackageVersions {
+
+	private final String name;
+	private final byte[] nameBytes;
+	private final Version[] versions;
+
+	private PackageVersions(String name, Version[] versions) {
+	    super();
+	    this.name = name;
+	    this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+	    this.versions = versions;
+	}
+    }
+
+    private static Version[] sortedUnique(Collection<Version> versions) {
+	for (Version version : versions) {
+	    if ((version.getMajor() < 0) || (version.getMinor() < 0) || (version.getPatch() < 0)) {
+		throw new IllegalArgumentException("Version '" + version + "' has negative parts.");
+	    }
+	}
+	return VersionIndex.sortedUnique(versions);
+    }
+
+    private static long addToHeap(String string, Map<String, Integer> heapOffsets, List<byte[]> heap,
+	    long heapSize) {
+	if ((string == null) || heapOffsets.containsKey(string)) {
+	    return heapSize;
+	}
+	if (heapSize > Integer.MAX_VALUE) {
+	    throw new IllegalArgumentException("The index would exceed the maximum size of 2 GiB.");
+	}
+	byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+	heapOffsets.put(string, (int) heapSize);
+	heap.add(bytes);
+	return heapSize + 4 + bytes.length;
+    }
+
+    private static int stringOffset(String string, Map<String, Integer> heapOffsets, long heapOffset) {
+	return string == null ? NO_STRING : (int) heapOffset + heapOffsets.get(string);
+    }
+
+    /**
+     * Opens an index file by mapping it into memory.
+     *
+     * @param file is the {@link Path} of the index file.
+     * @return A {@link VersionIndexFile} is returned.
+     * @throws IOException              is thrown in case the file cannot be
+     *                                  mapped.
+     * @throws IllegalArgumentException is thrown in case the file is not a valid
+     *                                  index file.
+     */
+    public static VersionIndexFile open(Path file) throws IOException, IllegalArgumentException {
+	try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+	    long size = channel.size();
+	    if (size > Integer.MAX_VALUE) {
+		throw new IllegalArgumentException("The index file '" + file + "' exceeds 2 GiB.");
+	    }
+	    return new VersionIndexFile(channel.map(MapMode.READ_ONLY, 0, size));
+	}
+    }
+
+    private final ByteBuffer buffer;
+    private final int packageCount;
+    private final int versionCount;
+    private final int directoryCount;
+    private final int packagesOffset;
+    private final int directoryOffset;
+    private final int versionsOffset;
+    private final int heapOffset;
+
+    private VersionIndexFile(ByteBuffer buffer) {
+	super();
+	if ((buffer.capacity() < HEADER_SIZE) || (buffer.getInt(0) != MAGIC)) {
+	    throw new IllegalArgumentException("The file is not a version index file.");
+	}
+	if (buffer.getInt(4) != FORMAT_VERSION) {
+	    throw new IllegalArgumentException("Unsupported index format version " + buffer.getInt(4) + ".");
+	}
+	this.buffer = buffer;
+	this.packageCount = buffer.getInt(8);
+	this.versionCount = buffer.getInt(12);
+	this.directoryCount = buffer.getInt(16);
+	this.packagesOffset = buffer.getInt(20);
+	this.directoryOffset = buffer.getInt(24);
+	this.versionsOffset = buffer.getInt(28);
+	this.heapOffset = buffer.getInt(32);
+	if ((packageCount < 0) || (versionCount < 0) || (directoryCount < 0) || (packagesOffset < HEADER_SIZE)
+		|| (directoryOffset != packagesOffset + ((long) packageCount * PACKAGE_RECORD_SIZE))
+		|| (versionsOffset != directoryOffset + ((long) directoryCount * DIRECTORY_RECORD_SIZE))
+		|| (heapOffset != versionsOffset + ((long) versionCount * VERSION_RECORD_SIZE))
+		|| (heapOffset > buffer.capacity())) {
+	    throw new IllegalArgumentException("The version index file is corrupt.");
+	}
+    }
+
+    /**
+     * Returns the number of packages in the index.
+     *
+     * @return An int is returned.
+     */
+    public int getPackageCount() {
+	return packageCount;
+    }
+
+    /**
+     * Returns the number of versions of all packages in the index.
+     *
+     * @return An int is returned.
+     */
+    public int getVersionCount() {
+	return versionCount;
+    }
+
+    /**
+     * Returns the names of all packages in the order of their UTF-8 bytes.
+     *
+     * @return A {@link List} of package names is returned.
+     */
+    public List<String> getPackageNames() {
+	List<String> names = new ArrayList<>(packageCount);
+	for (int index = 0; index < packageCount; index++) {
+	    names.add(readString(buffer.getInt(packagesOffset + (index * PACKAGE_RECORD_SIZE))));
+	}
+	return names;
+    }
+
+    /**
+     * Checks whether a package is in the index.
+     *
+     * @param packageName is the name of the package.
+     * @return <code>true</code> is returned in case the package is present.
+     */
+    public boolean contains(String packageName) {
+	return findPackage(packageName) >= 0;
+    }
+
+    /**
+     * Returns the versions of a package. The returned list reads the versions
+     * from the mapped file on access.
+     *
+     * @param packageName is the name of the package.
+     * @return An unmodifiable {@link List} of {@link Version}s is returned in
+     *         ascending order. It is empty for unknown packages.
+     */
+    public List<Version> getVersions(String packageName) {
+	int index = findPackage(packageName);
+	if (index < 0) {
+	    return Collections.emptyList();
+	}
+	int record = packagesOffset + (index * PACKAGE_RECORD_SIZE);
+	int first = buffer.getInt(record + 4);
+	int size = buffer.getInt(record + 8);
+	if ((first < 0) || (size < 0) || ((long) first + size > versionCount)) {
+	    throw new IllegalArgumentException("The version index file is corrupt.");
+	}
+	return new VersionList(first, size);
+    }
+
+    /**
+     * Returns the highest version of a package.
+     *
+     * @param packageName is the name of the package.
+     * @return The {@link Version} is returned or an empty {@link Optional} for
+     *         unknown packages.
+     */
+    public Optional<Version> getLatest(String packageName) {
+	List<Version> versions = getVersions(packageName);
+	return versions.isEmpty() ? Optional.empty() : Optional.of(versions.get(versions.size() - 1));
+    }
+
+    /**
+     * Returns the highest version of a package within a range. The versions are
+     * looked up by binary search.
+     *
+     * @param packageName is the name of the package.
+     * @param range       is the {@link VersionRange} to look into.
+     * @return The {@link Version} is returned or an empty {@link Optional} in
+     *         case there is no version within the range.
+     */
+    public Optional<Version> getHighestIn(String packageName, VersionRange range) {
+	List<Version> versions = getVersions(packageName);
+	int low = 0;
+	int high = versions.size();
+	while (low < high) {
+	    int middle = (low + high) >>> 1;
+	    if (range.isBelowMaximum(versions.get(middle))) {
+		low = middle + 1;
+	    } else {
+		high = middle;
+	    }
+	}
+	if (low == 0) {
+	    return Optional.empty();
+	}
+	Version highest = versions.get(low - 1);
+	return range.isAboveMinimum(highest) ? Optional.of(highest) : Optional.empty();
+    }
+
+    /**
+     * This list reads the versions of one package from the version table.
+     */
+    private final class VersionList extends AbstractList<Version> implements RandomAccess {
+
+	private final int first;
+	private final int size;
+
+	private VersionList(int first, int size) {
+	    super();
+	    this.first = first;
+	    this.size = size;
+	}
+
+	@Override
+	public Version get(int index) {
+	    if ((index < 0) || (index >= size)) {
+		throw new IndexOutOfBoundsException("Index " + index + " is out of range [0, " + size + ").");
+	    }
+	    int record = versionsOffset + ((first + index) * VERSION_RECORD_SIZE);
+	    int preReleaseOffset = buffer.getInt(record + 12);
+	    int buildOffset = buffer.getInt(record + 16);
+	    return new Version(buffer.getInt(record), buffer.getInt(record + 4), buffer.getInt(record + 8),
+		    preReleaseOffset == NO_STRING ? null : readString(preReleaseOffset),
+		    buildOffset == NO_STRING ? null : readString(buildOffset), true);
+	}
+
+	@Override
+	public int size() {
+	    return size;
+	}
+    }
+
+    /**
+     * Finds a package by binary search over the sparse directory and the package
+     * table.
+     *
+     * @return The index of the package is returned or -1 in case it is not
+     *         present.
+     */
+    private int findPackage(String packageName) {
+	byte[] key = packageName.getBytes(StandardCharsets.UTF_8);
+	long keyPrefix = prefix(ByteBuffer.wrap(key), 0, key.length);
+	// the block starts at the last directory entry with a lower prefix...
+	int low = 0;
+	int high = directoryCount;
+	while (low < high) {
+	    int middle = (low + high) >>> 1;
+	    if (Long.compareUnsigned(directoryPrefix(middle), keyPrefix) < 0) {
+		low = middle + 1;
+	    } else {
+		high = middle;
+	    }
+	}
+	int from = low == 0 ? 0 : directoryPackage(low - 1);
+	// ...and ends at the first directory entry with a higher prefix
+	high = directoryCount;
+	while (low < high) {
+	    int middle = (low + high) >>> 1;
+	    if (Long.compareUnsigned(directoryPrefix(middle), keyPrefix) <= 0) {
+		low = middle + 1;
+	    } else {
+		high = middle;
+	    }
+	}
+	int to = low == directoryCount ? packageCount : directoryPackage(low);
+	while (from < to) {
+	    int middle = (from + to) >>> 1;
+	    int comparison = compareName(buffer.getInt(packagesOffset + (middle * PACKAGE_RECORD_SIZE)), key);
+	    if (comparison < 0) {
+		from = middle + 1;
+	    } else if (comparison > 0) {
+		to = middle;
+	    } else {
+		return middle;
+	    }
+	}
+	return -1;
+    }
+
+    private long directoryPrefix(int entry) {
+	return buffer.getLong(directoryOffset + (entry * DIRECTORY_RECORD_SIZE));
+    }
+
+    private int directoryPackage(int entry) {
+	int index = buffer.getInt(directoryOffset + (entry * DIRECTORY_RECORD_SIZE) + 8);
+	if ((index < 0) || (index > packageCount)) {
+	    throw new IllegalArgumentException("The version index file is corrupt.");
+	}
+	return index;
+    }
+
+    /**
+     * Compares a length prefixed name in the heap with the key bytes in place.
+     */
+    private int compareName(int offset, byte[] key) {
+	int length = readStringLength(offset);
+	int start = offset + 4;
+	int common = Math.min(length, key.length);
+	for (int index = 0; index < common; index++) {
+	    int comparison = Integer.compare(buffer.get(start + index) & 0xFF, key[index] & 0xFF);
+	    if (comparison != 0) {
+		return comparison;
+	    }
+	}
+	return Integer.compare(length, key.length);
+    }
+
+    private String readString(int offset) {
+	int length = readStringLength(offset);
+	byte[] bytes = new byte[length];
+	buffer.duplicate().position(offset + 4).get(bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the length of a string in the heap and checks that the string lies
+     * completely within the heap.
+     */
+    private int readStringLength(int offset) {
+	if ((offset < heapOffset) || ((long) offset + 4 > buffer.capacity())) {
+	    throw new IllegalArgumentException("The version index file is corrupt.");
+	}
+	int length = buffer.getInt(offset);
+	if ((length < 0) || ((long) offset + 4 + length > buffer.capacity())) {
+	    throw new IllegalArgumentException("The version index file is corrupt.");
+	}
+	return length;
+    }
+
+    /**
+     * Returns the first eight bytes as big-endian long padded with zeros, so that
+     * unsigned comparisons of prefixes agree with the byte order of the names.
+     */
+    private static long prefix(ByteBuffer bytes, int offset, int length) {
+	long prefix = 0;
+	for (int index = 0; index < 8; index++) {
+	    prefix <<= 8;
+	    if (index < length) {
+		prefix |= bytes.get(offset + index) & 0xFF;
+	    }
+	}
+	return prefix;
+    }
+
+    private static int compareBytes(byte[] bytes, byte[] other) {
+	int common = Math.min(bytes.length, other.length);
+	for (int index = 0; index < common; index++) {
+	    int comparison = Integer.compare(bytes[index] & 0xFF, other[index] & 0xFF);
+	    if (comparison != 0) {
+		return comparison;
+	    }
+	}
+	return Integer.compare(bytes.length, other.length);
+    }
+}
@@ -1,5 +1,17 @@
 package com.puresoltechnologies.versioning;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
 /**
  * This class bundles mathematical functions for versions as it is done by
  * {@link Math} class.
@@ -58,6 +70,299 @@ public class VersionMath {
 	return maximum;
     }
 
+    /**
+     * This class returns the minimum version of the provided versions.
+     *
+     * @param versions
+     *            is an {@link Iterable} with at least one version.
+     * @return A {@link Version} object is returned containing the minimum
+     *         version.
+     */
+    public static Version min(Iterable<Version> versions) {
+	Iterator<Version> iterator = versions.iterator();
+	if (!iterator.hasNext()) {
+	    throw new IllegalArgumentException(
+		    "At least one version needs to be provided for minimum calculation.");
+	}
+	Version minimum = iterator.next();
+	while (iterator.hasNext()) {
+	    Version version = iterator.next();
+	    if (minimum.compareTo(version) > 0) {
+		minimum = version;
+	    }
+	}
+	return minimum;
+    }
+
+    /**
+     * This class returns the maximum version of the provided versions.
+     *
+     * @param versions
+     *            is an {@link Iterable} with at least one version.
+     * @return A {@link Version} object is returned containing the maximum
+     *         version.
+     */
+    public static Version max(Iterable<Version> versions) {
+	Iterator<Version> iterator = versions.iterator();
+	if (!iterator.hasNext()) {
+	    throw new IllegalArgumentException(
+		    "At least one version needs to be provided for maximum calculation.");
+	}
+	Version maximum = iterator.next();
+	while (iterator.hasNext()) {
+	    Version version = iterator.next();
+	    if (maximum.compareTo(version) < 0) {
+		maximum = version;
+	    }
+	}
+	return maximum;
+    }
+
+    /**
+     * This class returns the minimum version of the remaining versions of the
+     * provided {@link Spliterator}.
+     *
+     * @param versions
+     *            is a {@link Spliterator} with at least one remaining version.
+     * @return A {@link Version} object is returned containing the minimum
+     *         version.
+     */
+    public static Version min(Spliterator<Version> versions) {
+	MinMax minMax = new MinMax();
+	versions.forEachRemaining(minMax);
+	if (minMax.minimum == null) {
+	    throw new IllegalArgumentException(
+		    "At least one version needs to be provided for minimum calculation.");
+	}
+	return minMax.minimum;
+    }
+
+    /**
+     * This class returns the maximum version of the remaining versions of the
+     * provided {@link Spliterator}.
+     *
+     * @param versions
+     *            is a {@link Spliterator} with at least one remaining version.
+     * @return A {@link Version} object is returned containing the maximum
+     *         version.
+     */
+    public static Version max(Spliterator<Version> versions) {
+	MinMax minMax = new MinMax();
+	versions.forEachRemaining(minMax);
+	if (minMax.maximum == null) {
+	    throw new IllegalArgumentException(
+		    "At least one version needs to be provided for maximum calculation.");
+	}
+	return minMax.maximum;
+    }
+
+    /**
+     * This class returns the minimum version of a large array. The array is split
+     * and searched in parallel in the common {@link ForkJoinPool}.
+     *
+     * @param versions
+     *            is an array with at least one version.
+     * @return A {@link Version} object is returned containing the minimum
+     *         version.
+     */
+    public static Version parallelMin(Version[] versions) {
+	if (versions.length == 0) {
+	    throw new IllegalArgumentException(
+		    "At least one version needs to be provided for minimum calculation.");
+	}
+	Object event = VersioningInstrumentation.beginBulkOperation();
+	Version minimum = ForkJoinPool.commonPool().invoke(new MinMaxTask(versions, 0, versions.length)).minimum;
+	VersioningInstrumentation.endBulkOperation(event, "VersionMath.parallelMin", versions.length);
+	return minimum;
+    }
+
+    /**
+     * This class returns the maximum version of a large array. The array is split
+     * and searched in parallel in the common {@link ForkJoinPool}.
+     *
+     * @param versions
+     *            is an array with at least one version.
+     * @return A {@link Version} object is returned containing the maximum
+     *         version.
+     */
+    public static Version parallelMax(Version[] versions) {
+	if (versions.length == 0) {
+	    throw new IllegalArgumentException(
+		    "At least one version needs to be provided for maximum calculation.");
+	}
+	Object event = VersioningInstrumentation.beginBulkOperation();
+	Version maximum = ForkJoinPool.commonPool().invoke(new MinMaxTask(versions, 0, versions.length)).maximum;
+	VersioningInstrumentation.endBulkOperation(event, "VersionMath.parallelMax", versions.length);
+	return maximum;
+    }
+
+    /**
+     * Returns a {@link Collector} which finds the maximum version of a stream.
+     * The collector can be used with parallel streams.
+     *
+     * @return A {@link Collector} is returned. It returns an empty
+     *         {@link Optional} for empty streams.
+     */
+    public static Collector<Version, ?, Optional<Version>> toMax() {
+	return Collector.of(MinMax::new, MinMax::accept, MinMax::combine,
+		minMax -> Optional.ofNullable(minMax.maximum), Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@link Collector} which finds the minimum version of a stream.
+     * The collector can be used with parallel streams.
+     *
+     * @return A {@link Collector} is returned. It returns an empty
+     *         {@link Optional} for empty streams.
+     */
+    public static Collector<Version, ?, Optional<Version>> toMin() {
+	return Collector.of(MinMax::new, MinMax::accept, MinMax::combine,
+		minMax -> Optional.ofNullable(minMax.minimum), Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@link Collector} which finds the minimum and maximum version of
+     * a stream in one pass. The collector can be used with parallel streams.
+     *
+     * @return A {@link Collector} is returned. It returns the closed
+     *         {@link VersionRange} from minimum to maximum or an empty
+     *         {@link Optional} for empty streams.
+     */
+    public static Collector<Version, ?, Optional<VersionRange>> toMinMax() {
+	return Collector.of(MinMax::new, MinMax::accept, MinMax::combine, minMax -> minMax.minimum == null
+		? Optional.empty()
+		: Optional.of(new VersionRange(minMax.minimum, true, minMax.maximum, true)),
+		Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@link Collector} which finds the highest versions of a stream.
+     * Only k versions are kept at any time, so that the stream is not
+     * materialized. The collector can be used with parallel streams.
+     *
+     * @param k
+     *            is the maximum number of versions to be returned. It needs to
+     *            be positive.
+     * @return A {@link Collector} is returned. It returns a {@link List} of the
+     *         highest versions in descending order.
+     */
+    public static Collector<Version, ?, List<Version>> topK(int k) {
+	if (k <= 0) {
+	    throw new IllegalArgumentException("k must be positive, but was " + k + ".");
+	}
+	return Collector.of(() -> new TopK(k), TopK::accept, TopK::combine, TopK::toList,
+		Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * This class collects the minimum and maximum of versions.
+     */
+    private static final class MinMax implements Consumer<Version> {
+
+	private Version minimum = null;
+	private Version maximum = null;
+
+	@Override
+	public void accept(Version version) {
+	    if (minimum == null) {
+		minimum = version;
+		maximum = version;
+	    } else if (minimum.compareTo(version) > 0) {
+		minimum = version;
+	    } else if (maximum.compareTo(version) < 0) {
+		maximum = version;
+	    }
+	}
+
+	private MinMax combine(MinMax other) {
+	    if (other.minimum != null) {
+		if ((minimum == null) || (minimum.compareTo(other.minimum) > 0)) {
+		    minimum = other.minimum;
+		}
+		if ((maximum == null) || (maximum.compareTo(other.maximum) < 0)) {
+		    maximum = other.maximum;
+		}
+	    }
+	    return this;
+	}
+    }
+
+    /**
+     * This class keeps the k highest versions in a min-heap, so that the lowest
+     * of them can be replaced quickly.
+     */
+    private static final class TopK {
+
+	private final int k;
+	private final PriorityQueue<Version> queue;
+
+	private TopK(int k) {
+	    super();
+	    this.k = k;
+	    this.queue = new PriorityQueue<>(Math.min(k, 1024));
+	}
+
+	private void accept(Version version) {
+	    if (queue.size() < k) {
+		queue.add(version);
+	    } else if (queue.peek().compareTo(version) < 0) {
+		queue.poll();
+		queue.add(version);
+	    }
+	}
+
+	private TopK combine(TopK other) {
+	    for (Version version : other.queue) {
+		accept(version);
+	    }
+	    return this;
+	}
+
+	private List<Version> toList() {
+	    List<Version> highest = new ArrayList<>(queue);
+	    Collections.sort(highest, Collections.reverseOrder());
+	    return highest;
+	}
+    }
+
+    /**
+     * This task searches minimum and maximum of an array slice by splitting it
+     * until the slices are small enough to be searched sequentially.
+     */
+    private static final class MinMaxTask extends RecursiveTask<MinMax> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int THRESHOLD = 8192;
+
+	private final Version[] versions;
+	private final int from;
+	private final int to;
+
+	private MinMaxTask(Version[] versions, int from, int to) {
+	    super();
+	    this.versions = versions;
+	    this.from = from;
+	    this.to = to;
+	}
+
+	@Override
+	protected MinMax compute() {
+	    if (to - from <= THRESHOLD) {
+		MinMax minMax = new MinMax();
+		for (int index = from; index < to; index++) {
+		    minMax.accept(versions[index]);
+		}
+		return minMax;
+	    }
+	    int middle = (from + to) >>> 1;
+	    MinMaxTask left = new MinMaxTask(versions, from, middle);
+	    left.fork();
+	    MinMax right = new MinMaxTask(versions, middle, to).compute();
+	    return left.join().combine(right);
+	}
+    }
+
     /**
      * Private constructor to avoid instantiation.
      */
@@ -0,0 +1,57 @@
+package com.puresoltechnologies.versioning;
+
+/**
+ * <p>
+ * This is the service provider interface for metrics about the library usage,
+ * which can be bridged to a metrics library like Micrometer. All methods do
+ * nothing by default, so that an implementation only needs to override the
+ * counters it is interested in.
+ * </p>
+ * <p>
+ * The methods are only called in case the instrumentation is enabled, see
+ * {@link VersioningInstrumentation}. They are called on the hot paths of
+ * parsing and comparison and need to be cheap and thread-safe, like a
+ * {@link java.util.concurrent.atomic.LongAdder} increment.
+ * </p>
+ * <p>
+ * An implementation is either provided as service via
+ * {@link java.util.ServiceLoader} or set with
+ * {@link VersioningInstrumentation#setMetrics(VersionMetrics)}.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public interface VersionMetrics {
+
+    /**
+     * Is called after a version string was parsed successfully.
+     */
+    default void parsed() {
+    }
+
+    /**
+     * Is called after a string was rejected as version string.
+     */
+    default void parseFailed() {
+    }
+
+    /**
+     * Is called in case a lookup in a version or version range cache found the
+     * entry.
+     */
+    default void cacheHit() {
+    }
+
+    /**
+     * Is called in case a lookup in a version or version range cache did not find
+     * the entry.
+     */
+    default void cacheMiss() {
+    }
+
+    /**
+     * Is called for each comparison of two {@link Version}s.
+     */
+    default void compared() {
+    }
+}
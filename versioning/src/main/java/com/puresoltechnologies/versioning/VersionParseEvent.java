@@ -0,0 +1,51 @@
+package com.puresoltechnologies.versioning;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * This Flight Recorder event is emitted for each parsed version string. It is
+ * disabled in recordings by default and needs to be enabled explicitly.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@Name("com.puresoltechnologies.versioning.Parse")
+@Label("Version Parse")
+@Category("Versioning")
+@Description("Parses a version string")
+@Enabled(false)
+@StackTrace(false)
+final class VersionParseEvent extends Event {
+
+    @Label("Input Length")
+    @Description("The number of characters of the version string")
+    int inputLength;
+
+    @Label("Success")
+    @Description("Whether the version string was valid")
+    boolean success;
+
+    static VersionParseEvent beginEvent() {
+	VersionParseEvent event = new VersionParseEvent();
+	if (!event.isEnabled()) {
+	    return null;
+	}
+	event.begin();
+	return event;
+    }
+
+    static void commitEvent(Object event, int inputLength, boolean success) {
+	VersionParseEvent parseEvent = (VersionParseEvent) event;
+	parseEvent.end();
+	if (parseEvent.shouldCommit()) {
+	    parseEvent.inputLength = inputLength;
+	    parseEvent.success = success;
+	    parseEvent.commit();
+	}
+    }
+}
@@ -0,0 +1,135 @@
+package com.puresoltechnologies.versioning;
+
+/**
+ * This class receives the outcome of
+ * {@link Version#tryParse(CharSequence, VersionParseResult)}. It is mutable
+ * and meant to be reused for many parse calls, so that scanning large amounts
+ * of dirty input, e.g. tags or file names, creates neither exceptions nor
+ * result objects for invalid candidates.
+ *
+ * This class is not thread-safe.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersionParseResult {
+
+    /**
+     * This enum contains the reasons why a version string is invalid.
+     */
+    public enum Error {
+
+	/**
+	 * A major, minor or patch version number was expected.
+	 */
+	MISSING_NUMBER("A version number was expected."),
+	/**
+	 * A dot was expected between major, minor and patch version.
+	 */
+	MISSING_DOT("A dot was expected."),
+	/**
+	 * A numeric identifier has leading zeros.
+	 */
+	LEADING_ZERO("Numbers must not have leading zeros."),
+	/**
+	 * A major, minor or patch version number does not fit into an int.
+	 */
+	NUMBER_TOO_LARGE("The version number is too large."),
+	/**
+	 * A pre-release or build identifier is empty.
+	 */
+	EMPTY_IDENTIFIER("Identifiers must not be empty."),
+	/**
+	 * A character is not allowed at its position.
+	 */
+	INVALID_CHARACTER("The character is not allowed here.");
+
+	private final String description;
+
+	private Error(String description) {
+	    this.description = description;
+	}
+
+	/**
+	 * Returns a human readable description of the error.
+	 *
+	 * @return A {@link String} is returned.
+	 */
+	public String getDescription() {
+	    return description;
+	}
+    }
+
+    private Version version = null;
+    private Error error = null;
+    private int errorIndex = -1;
+
+    /**
+     * Creates an empty result.
+     */
+    public VersionParseResult() {
+	super();
+    }
+
+    void setVersion(Version version) {
+	this.version = version;
+	this.error = null;
+	this.errorIndex = -1;
+    }
+
+    void setError(Error error, int errorIndex) {
+	this.version = null;
+	this.error = error;
+	this.errorIndex = errorIndex;
+    }
+
+    /**
+     * Returns whether the last parsed string was a valid version.
+     *
+     * @return <code>true</code> is returned in case the version was valid.
+     */
+    public boolean isValid() {
+	return version != null;
+    }
+
+    /**
+     * Returns the last parsed version.
+     *
+     * @return A {@link Version} is returned or <code>null</code> in case the last
+     *         parsed string was not valid.
+     */
+    public Version getVersion() {
+	return version;
+    }
+
+    /**
+     * Returns the reason why the last parsed string was not valid.
+     *
+     * @return An {@link Error} is returned or <code>null</code> in case the last
+     *         parsed string was valid.
+     */
+    public Error getError() {
+	return error;
+    }
+
+    /**
+     * Returns the index of the first character which made the last parsed string
+     * invalid. The index is relative to the beginning of the parsed string.
+     *
+     * @return An int is returned. -1 is returned in case the last parsed string
+     *         was valid.
+     */
+    public int getErrorIndex() {
+	return errorIndex;
+    }
+
+    @Override
+    public String toString() {
+	if (version != null) {
+	    return "valid: " + version;
+	}
+	if (error != null) {
+	    return "invalid at index " + errorIndex + ": " + error.getDescription();
+	}
+	return "empty";
+    }
+}
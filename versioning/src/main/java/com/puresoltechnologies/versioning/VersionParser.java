@@ -0,0 +1,423 @@
+package com.puresoltechnologies.versioning;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class is a hand-written, single-pass scanner for version strings as
+ * defined by Semantic Versioning 2.0.0. It accepts exactly the same strings as
+ * the regular expressions documented by {@link Version}, but works directly on the
+ * characters without any {@link java.util.regex.Matcher} or group
+ * {@link String}s. The resulting {@link Version} is created without a second
+ * verification, because the scanner has already checked all parts.
+ *
+ * The scanner reads {@link CharSequence}s, char arrays, ASCII byte arrays and
+ * {@link ByteBuffer}s in place. Only the pre-release information and build
+ * metadata are copied into {@link String}s and only in case they are present.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+abstract class VersionParser {
+
+    /**
+     * This method parses the text between start (inclusive) and end (exclusive)
+     * of the provided {@link CharSequence}.
+     *
+     * @param text  is the {@link CharSequence} containing the version string.
+     * @param start is the index of the first character of the version string.
+     * @param end   is the index after the last character of the version string.
+     * @return A {@link Version} object is returned. <code>null</code> is returned
+     *         in case the text is not a valid version.
+     */
+    static Version parse(CharSequence text, int start, int end) {
+	return new CharSequenceParser(text, start, end).parseVersion();
+    }
+
+    /**
+     * This method parses the text between start (inclusive) and end (exclusive)
+     * of the provided {@link CharSequence} and reports the outcome.
+     *
+     * @param text   is the {@link CharSequence} containing the version string.
+     * @param start  is the index of the first character of the version string.
+     * @param end    is the index after the last character of the version string.
+     * @param result is the {@link VersionParseResult} to be filled.
+     * @return A {@link Version} object is returned. <code>null</code> is returned
+     *         in case the text is not a valid version.
+     */
+    static Version parse(CharSequence text, int start, int end, VersionParseResult result) {
+	return new CharSequenceParser(text, start, end).parseVersion(result);
+    }
+
+    /**
+     * This method parses the characters between start (inclusive) and end
+     * (exclusive) of the provided char array.
+     *
+     * @param chars is the char array containing the version string.
+     * @param start is the index of the first char of the version string.
+     * @param end   is the index after the last char of the version string.
+     * @return A {@link Version} object is returned. <code>null</code> is returned
+     *         in case the chars are not a valid version.
+     */
+    static Version parse(char[] chars, int start, int end) {
+	return new CharArrayParser(chars, start, end).parseVersion();
+    }
+
+    /**
+     * This method parses the ASCII characters between start (inclusive) and end
+     * (exclusive) of the provided byte array.
+     *
+     * @param bytes is the byte array containing the version string.
+     * @param start is the index of the first byte of the version string.
+     * @param end   is the index after the last byte of the version string.
+     * @return A {@link Version} object is returned. <code>null</code> is returned
+     *         in case the bytes are not a valid version.
+     */
+    static Version parse(byte[] bytes, int start, int end) {
+	return new ByteArrayParser(bytes, start, end).parseVersion();
+    }
+
+    /**
+     * This method parses the ASCII characters between the absolute indexes start
+     * (inclusive) and end (exclusive) of the provided {@link ByteBuffer}. The
+     * position of the buffer is not changed.
+     *
+     * @param buffer is the {@link ByteBuffer} containing the version string.
+     * @param start  is the index of the first byte of the version string.
+     * @param end    is the index after the last byte of the version string.
+     * @return A {@link Version} object is returned. <code>null</code> is returned
+     *         in case the bytes are not a valid version.
+     */
+    static Version parse(ByteBuffer buffer, int start, int end) {
+	if (buffer.hasArray()) {
+	    int offset = buffer.arrayOffset();
+	    return parse(buffer.array(), offset + start, offset + end);
+	}
+	return new ByteBufferParser(buffer, start, end).parseVersion();
+    }
+
+    /**
+     * Checks whether a {@link String} is valid pre-release information. This
+     * replaces the matching against a compiled regular expression, so that no
+     * {@link java.util.regex.Pattern} needs to be compiled while {@link Version}
+     * is initialized.
+     *
+     * @param text is the pre-release information to be checked.
+     * @return <code>true</code> is returned in case the text is valid.
+     */
+    static boolean isPreReleaseInformation(String text) {
+	VersionParser parser = new CharSequenceParser(text, 0, text.length());
+	return parser.scanPreReleaseInformation() && (parser.position == parser.end);
+    }
+
+    /**
+     * Checks whether a {@link String} is valid build metadata.
+     *
+     * @param text is the build metadata to be checked.
+     * @return <code>true</code> is returned in case the text is valid.
+     */
+    static boolean isBuildMetadata(String text) {
+	VersionParser parser = new CharSequenceParser(text, 0, text.length());
+	return parser.scanBuildMetadata() && (parser.position == parser.end);
+    }
+
+    private static final class CharSequenceParser extends VersionParser {
+
+	private final CharSequence text;
+
+	private CharSequenceParser(CharSequence text, int start, int end) {
+	    super(start, end);
+	    this.text = text;
+	}
+
+	@Override
+	char charAt(int index) {
+	    return text.charAt(index);
+	}
+
+	@Override
+	String substring(int start, int end) {
+	    if (text instanceof String) {
+		return ((String) text).substring(start, end);
+	    }
+	    return text.subSequence(start, end).toString();
+	}
+    }
+
+    private static final class CharArrayParser extends VersionParser {
+
+	private final char[] chars;
+
+	private CharArrayParser(char[] chars, int start, int end) {
+	    super(start, end);
+	    this.chars = chars;
+	}
+
+	@Override
+	char charAt(int index) {
+	    return chars[index];
+	}
+
+	@Override
+	String substring(int start, int end) {
+	    return new String(chars, start, end - start);
+	}
+    }
+
+    private static final class ByteArrayParser extends VersionParser {
+
+	private final byte[] bytes;
+
+	private ByteArrayParser(byte[] bytes, int start, int end) {
+	    super(start, end);
+	    this.bytes = bytes;
+	}
+
+	@Override
+	char charAt(int index) {
+	    return (char) (bytes[index] & 0xFF);
+	}
+
+	@Override
+	String substring(int start, int end) {
+	    return new String(bytes, start, end - start, StandardCharsets.US_ASCII);
+	}
+    }
+
+    private static final class ByteBufferParser extends VersionParser {
+
+	private final ByteBuffer buffer;
+
+	private ByteBufferParser(ByteBuffer buffer, int start, int end) {
+	    super(start, end);
+	    this.buffer = buffer;
+	}
+
+	@Override
+	char charAt(int index) {
+	    return (char) (buffer.get(index) & 0xFF);
+	}
+
+	@Override
+	String substring(int start, int end) {
+	    byte[] bytes = new byte[end - start];
+	    for (int index = start; index < end; index++) {
+		bytes[index - start] = buffer.get(index);
+	    }
+	    return new String(bytes, StandardCharsets.US_ASCII);
+	}
+    }
+
+    private final int start;
+    private final int end;
+    private int position;
+    private VersionParseResult.Error error = null;
+    private int errorPosition = -1;
+
+    private VersionParser(int start, int end) {
+	super();
+	this.start = start;
+	this.position = start;
+	this.end = end;
+    }
+
+    /**
+     * Returns the character at the given index of the source.
+     */
+    abstract char charAt(int index);
+
+    /**
+     * Copies the characters between start and end of the source into a
+     * {@link String}.
+     */
+    abstract String substring(int start, int end);
+
+    /**
+     * Scans the whole source range as version string and reports the outcome to
+     * the result.
+     *
+     * @param result is the {@link VersionParseResult} to be filled. It may be
+     *               <code>null</code>, if no details are needed.
+     * @return A {@link Version} object is returned. <code>null</code> is returned
+     *         in case the source is not a valid version.
+     */
+    final Version parseVersion(VersionParseResult result) {
+	Version version = parseVersion();
+	if (result != null) {
+	    if (version != null) {
+		result.setVersion(version);
+	    } else {
+		result.setError(error, errorPosition - start);
+	    }
+	}
+	return version;
+    }
+
+    /**
+     * Scans the whole source range as version string.
+     *
+     * @return A {@link Version} object is returned. <code>null</code> is returned
+     *         in case the source is not a valid version.
+     */
+    final Version parseVersion() {
+	if (!VersioningInstrumentation.ENABLED) {
+	    return scanVersion();
+	}
+	Object event = VersioningInstrumentation.beginParse();
+	Version version = scanVersion();
+	VersioningInstrumentation.endParse(event, end - start, version != null);
+	return version;
+    }
+
+    private Version scanVersion() {
+	int major = parseNumericIdentifier();
+	if ((major < 0) || !expect('.')) {
+	    return null;
+	}
+	int minor = parseNumericIdentifier();
+	if ((minor < 0) || !expect('.')) {
+	    return null;
+	}
+	int patch = parseNumericIdentifier();
+	if (patch < 0) {
+	    return null;
+	}
+	String preReleaseInformation = null;
+	if (consume('-')) {
+	    int preReleaseStart = position;
+	    if (!scanPreReleaseInformation()) {
+		return null;
+	    }
+	    preReleaseInformation = substring(preReleaseStart, position);
+	}
+	String buildMetadata = null;
+	if (consume('+')) {
+	    int buildStart = position;
+	    if (!scanBuildMetadata()) {
+		return null;
+	    }
+	    buildMetadata = substring(buildStart, position);
+	}
+	if (position != end) {
+	    fail(VersionParseResult.Error.INVALID_CHARACTER, position);
+	    return null;
+	}
+	return new Version(major, minor, patch, preReleaseInformation, buildMetadata, false);
+    }
+
+    /**
+     * Parses a numeric identifier which is either a single zero or a number
+     * without leading zero. The number needs to fit into an int.
+     *
+     * @return The parsed number is returned or -1 in case there is no valid
+     *         numeric identifier at the current position.
+     */
+    private int parseNumericIdentifier() {
+	if ((position >= end) || !isDigit(charAt(position))) {
+	    fail(VersionParseResult.Error.MISSING_NUMBER, position);
+	    return -1;
+	}
+	int numberStart = position;
+	char c = charAt(position);
+	if (c == '0') {
+	    position++;
+	    if ((position < end) && isDigit(charAt(position))) {
+		fail(VersionParseResult.Error.LEADING_ZERO, numberStart);
+		return -1;
+	    }
+	    return 0;
+	}
+	int value = 0;
+	do {
+	    int digit = c - '0';
+	    if (value > ((Integer.MAX_VALUE - digit) / 10)) {
+		fail(VersionParseResult.Error.NUMBER_TOO_LARGE, numberStart);
+		return -1;
+	    }
+	    value = (value * 10) + digit;
+	    position++;
+	} while ((position < end) && isDigit(c = charAt(position)));
+	return value;
+    }
+
+    /**
+     * Scans dot separated pre-release identifiers. Each identifier must not be
+     * empty and numeric identifiers must not have leading zeros.
+     *
+     * @return <code>true</code> is returned in case the pre-release information
+     *         is valid.
+     */
+    private boolean scanPreReleaseInformation() {
+	do {
+	    int identifierStart = position;
+	    boolean numeric = true;
+	    while ((position < end) && (charAt(position) != '.') && (charAt(position) != '+')) {
+		char c = charAt(position);
+		if (!isDigit(c)) {
+		    if (!isIdentifierCharacter(c)) {
+			return fail(VersionParseResult.Error.INVALID_CHARACTER, position);
+		    }
+		    numeric = false;
+		}
+		position++;
+	    }
+	    int length = position - identifierStart;
+	    if (length == 0) {
+		return fail(VersionParseResult.Error.EMPTY_IDENTIFIER, position);
+	    }
+	    if (numeric && (length > 1) && (charAt(identifierStart) == '0')) {
+		return fail(VersionParseResult.Error.LEADING_ZERO, identifierStart);
+	    }
+	} while (consume('.'));
+	return true;
+    }
+
+    /**
+     * Scans dot separated build identifiers. Each identifier must not be empty.
+     *
+     * @return <code>true</code> is returned in case the build metadata is valid.
+     */
+    private boolean scanBuildMetadata() {
+	do {
+	    int identifierStart = position;
+	    while ((position < end) && (charAt(position) != '.')) {
+		if (!isIdentifierCharacter(charAt(position))) {
+		    return fail(VersionParseResult.Error.INVALID_CHARACTER, position);
+		}
+		position++;
+	    }
+	    if (position == identifierStart) {
+		return fail(VersionParseResult.Error.EMPTY_IDENTIFIER, position);
+	    }
+	} while (consume('.'));
+	return true;
+    }
+
+    private boolean fail(VersionParseResult.Error error, int errorPosition) {
+	this.error = error;
+	this.errorPosition = errorPosition;
+	return false;
+    }
+
+    private boolean expect(char c) {
+	if (consume(c)) {
+	    return true;
+	}
+	return fail(VersionParseResult.Error.MISSING_DOT, position);
+    }
+
+    private boolean consume(char c) {
+	if ((position < end) && (charAt(position) == c)) {
+	    position++;
+	    return true;
+	}
+	return false;
+    }
+
+    private static boolean isDigit(char c) {
+	return (c >= '0') && (c <= '9');
+    }
+
+    private static boolean isIdentifierCharacter(char c) {
+	return ((c >= '0') && (c <= '9')) || ((c >= 'A') && (c <= 'Z')) || ((c >= 'a') && (c <= 'z')) || (c == '-');
+    }
+}
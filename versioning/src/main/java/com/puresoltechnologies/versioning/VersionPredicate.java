@@ -0,0 +1,27 @@
+package com.puresoltechnologies.versioning;
+
+import java.util.function.Predicate;
+
+/**
+ * This is a {@link Predicate} which checks whether {@link Version}s are
+ * included in a {@link VersionRange}. It is created with
+ * {@link VersionRange#compile()} and specialized for the boundaries of the
+ * range, so that it is suitable for loops which check a lot of versions
+ * against the same range.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+@FunctionalInterface
+public interface VersionPredicate extends Predicate<Version> {
+
+    /**
+     * Checks whether a version is included in the range this predicate was
+     * compiled from.
+     *
+     * @param version is the {@link Version} to be checked.
+     * @return <code>true</code> is returned in case the version is within the
+     *         range. <code>false</code> is returned otherwise.
+     */
+    @Override
+    boolean test(Version version);
+}
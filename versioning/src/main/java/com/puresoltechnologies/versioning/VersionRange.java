@@ -1,6 +1,9 @@
 package com.puresoltechnologies.versioning;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.BitSet;
 
 /**
  * This class represents a version range based on semantic versions implemented
@@ -23,10 +26,57 @@ public class VersionRange implements Serializable {
 
     private static final long serialVersionUID = -5875033722249170166L;
 
+    /**
+     * The maximum number of parsed version range strings to be kept.
+     */
+    private static final int CACHE_CAPACITY = 1024;
+
+    private static final ClockCache<String, VersionRange> cache = new ClockCache<>(CACHE_CAPACITY);
+
+    /**
+     * The canonical range which does not include any version. It is returned by
+     * the range operations for all empty results.
+     */
+    public static final VersionRange EMPTY = new VersionRange(new Version(0, 0, 0), false, new Version(0, 0, 0),
+	    false);
+
+    /**
+     * The canonical range which includes all versions above 0.0.0.
+     */
+    public static final VersionRange ALL = new VersionRange(null, false, null, false);
+
+    /**
+     * <p>
+     * Parses a version range string. Two notations are supported:
+     * </p>
+     * <ul>
+     * <li>Maven like intervals as created by {@link #toString()}, e.g.
+     * <code>[1.0.0, 2.0.0)</code>, <code>(, 2.0.0]</code>, <code>[1.0.0,)</code>
+     * or <code>[1.2.3]</code> for exactly one version.</li>
+     * <li>npm like comparators separated by whitespace, e.g. <code>&gt;=1.2.0
+     * &lt;2.0.0</code>, <code>^1.2.3</code>, <code>~1.2</code>,
+     * <code>1.2.x</code>, <code>1.2.3 - 2.0.0</code> or <code>*</code>.</li>
+     * </ul>
+     * <p>
+     * Version range strings recur a lot in manifests, so the parsed ranges are
+     * kept in a bounded cache and the same string is only parsed once.
+     * </p>
+     *
+     * @param text is the {@link CharSequence} containing the version range.
+     * @return A {@link VersionRange} is returned.
+     * @throws IllegalArgumentException is thrown in case the text is not a valid
+     *                                  version range.
+     */
+    public static VersionRange valueOf(CharSequence text) throws IllegalArgumentException {
+	return cache.get(text.toString(), VersionRangeParser::parse);
+    }
+
     private final Version minimum;
     private final boolean minimumIncluded;
     private final Version maximum;
     private final boolean maximumIncluded;
+    private transient int hash;
+    private transient CompiledVersionRange predicate;
 
     /**
      * This default constructor is only convenience for JSON serialization.
@@ -119,38 +169,349 @@ public class VersionRange implements Serializable {
      *         current range. <code>false</code> is returned otherwise.
      */
     public final boolean includes(Version version) {
-	if (minimum != null) {
-	    int minimumComparison = minimum.compareTo(version);
-	    if (minimumComparison > 0) {
-		return false;
-	    }
-	    if ((!minimumIncluded) && (minimumComparison == 0)) {
-		return false;
-	    }
+	return isAboveMinimum(version) && isBelowMaximum(version);
+    }
+
+    /**
+     * <p>
+     * Compiles this range into a {@link VersionPredicate} which is specialized
+     * for the kind of boundaries of this range. The predicate returns the same
+     * results as {@link #includes(Version)}, but is considerably faster for
+     * ranges which are evaluated very often.
+     * </p>
+     * <p>
+     * Boundaries without pre-release information are checked with a single
+     * comparison of {@link Version#sortKey()}s. Only pre-release boundaries fall
+     * back to {@link Version#compareTo(Version)} and only in case the sort keys
+     * are equal.
+     * </p>
+     *
+     * @return A {@link VersionPredicate} is returned. It is created once and kept
+     *         afterwards.
+     */
+    public VersionPredicate compile() {
+	return compiled();
+    }
+
+    private CompiledVersionRange compiled() {
+	CompiledVersionRange compiled = predicate;
+	if (compiled == null) {
+	    compiled = new CompiledVersionRange(minimum, minimumIncluded, maximum, maximumIncluded);
+	    predicate = compiled;
 	}
-	if (maximum != null) {
-	    int maximumComparison = maximum.compareTo(version);
-	    if (maximumComparison < 0) {
-		return false;
-	    }
-	    if ((!maximumIncluded) && (maximumComparison == 0)) {
-		return false;
+	return compiled;
+    }
+
+    /**
+     * Checks which versions of an array are included in this range. This is the
+     * batch variant of {@link #includes(Version)}, which runs in a tight loop over
+     * the {@link Version#sortKey()}s and splits large arrays across the common
+     * {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @param versions is the array of {@link Version}s to be checked.
+     * @param result   is the {@link BitSet} which receives the result: The bit of
+     *                 each index of the array is set in case the version is
+     *                 included and cleared otherwise. Bits behind the array length
+     *                 are not changed.
+     */
+    public void includesAll(Version[] versions, BitSet result) {
+	long[] words = new long[(versions.length + Long.SIZE - 1) >>> 6];
+	compiled().testAll(versions, words);
+	setBits(words, versions.length, result);
+    }
+
+    /**
+     * Checks which versions of a {@link VersionArray} are included in this range.
+     * The columns of the array are checked directly, so that no {@link Version}
+     * objects need to be created. The array must not be modified concurrently.
+     *
+     * @param versions is the {@link VersionArray} to be checked.
+     * @param result   is the {@link BitSet} which receives the result: The bit of
+     *                 each index of the array is set in case the version is
+     *                 included and cleared otherwise. Bits behind the array size
+     *                 are not changed.
+     */
+    public void includesAll(VersionArray versions, BitSet result) {
+	long[] words = new long[(versions.size() + Long.SIZE - 1) >>> 6];
+	compiled().testAll(versions, words);
+	setBits(words, versions.size(), result);
+    }
+
+    private static void setBits(long[] words, int length, BitSet result) {
+	result.clear(0, length);
+	for (int index = 0; index < words.length; index++) {
+	    long word = words[index];
+	    int base = index << 6;
+	    while (word != 0) {
+		result.set(base + Long.numberOfTrailingZeros(word));
+		word &= word - 1;
 	    }
 	}
-	return true;
     }
 
+    /**
+     * Counts the versions of an array which are included in this range.
+     *
+     * @param versions is the array of {@link Version}s to be checked.
+     * @return The number of included versions is returned.
+     */
+    public int count(Version[] versions) {
+	return compiled().testAll(versions, null);
+    }
+
+    /**
+     * Counts the versions of a {@link VersionArray} which are included in this
+     * range. The array must not be modified concurrently.
+     *
+     * @param versions is the {@link VersionArray} to be checked.
+     * @return The number of included versions is returned.
+     */
+    public int count(VersionArray versions) {
+	return compiled().testAll(versions, null);
+    }
+
+    /**
+     * Checks whether the version satisfies the lower boundary of this range.
+     *
+     * @param version is the {@link Version} to be checked.
+     * @return <code>true</code> is returned in case the version is not below the
+     *         lower boundary.
+     */
+    final boolean isAboveMinimum(Version version) {
+	if (minimum == null) {
+	    return true;
+	}
+	int comparison = minimum.compareTo(version);
+	return (comparison < 0) || (minimumIncluded && (comparison == 0));
+    }
+
+    /**
+     * Checks whether the version satisfies the upper boundary of this range.
+     *
+     * @param version is the {@link Version} to be checked.
+     * @return <code>true</code> is returned in case the version is not above the
+     *         upper boundary.
+     */
+    final boolean isBelowMaximum(Version version) {
+	if (maximum == null) {
+	    return true;
+	}
+	int comparison = maximum.compareTo(version);
+	return (comparison > 0) || (maximumIncluded && (comparison == 0));
+    }
+
+    /**
+     * Compares the lower boundaries of two ranges. A missing minimum is the lowest
+     * boundary and an included minimum is lower than the excluded same version.
+     *
+     * @param range is the first {@link VersionRange}.
+     * @param other is the second {@link VersionRange}.
+     * @return A negative number, zero or a positive number is returned in case the
+     *         lower boundary of the first range is lower, equal or higher.
+     */
+    static int compareMinimums(VersionRange range, VersionRange other) {
+	if (range.minimum == null) {
+	    return other.minimum == null ? 0 : -1;
+	}
+	if (other.minimum == null) {
+	    return 1;
+	}
+	int comparison = range.minimum.compareTo(other.minimum);
+	if (comparison != 0) {
+	    return comparison;
+	}
+	return Boolean.compare(other.minimumIncluded, range.minimumIncluded);
+    }
+
+    /**
+     * Compares the upper boundaries of two ranges. A missing maximum is the
+     * highest boundary and an included maximum is higher than the excluded same
+     * version.
+     *
+     * @param range is the first {@link VersionRange}.
+     * @param other is the second {@link VersionRange}.
+     * @return A negative number, zero or a positive number is returned in case the
+     *         upper boundary of the first range is lower, equal or higher.
+     */
+    static int compareMaximums(VersionRange range, VersionRange other) {
+	if (range.maximum == null) {
+	    return other.maximum == null ? 0 : 1;
+	}
+	if (other.maximum == null) {
+	    return -1;
+	}
+	int comparison = range.maximum.compareTo(other.maximum);
+	if (comparison != 0) {
+	    return comparison;
+	}
+	return Boolean.compare(range.maximumIncluded, other.maximumIncluded);
+    }
+
+    /**
+     * Checks whether this range does not include any version, because the
+     * minimum is above the maximum or both are equal, but not both included.
+     *
+     * @return <code>true</code> is returned in case the range is empty.
+     */
+    public final boolean isEmpty() {
+	return isEmpty(minimum, minimumIncluded, maximum, maximumIncluded);
+    }
+
+    private static boolean isEmpty(Version minimum, boolean minimumIncluded, Version maximum,
+	    boolean maximumIncluded) {
+	if ((minimum == null) || (maximum == null)) {
+	    return false;
+	}
+	int comparison = minimum.compareTo(maximum);
+	return (comparison > 0) || ((comparison == 0) && !(minimumIncluded && maximumIncluded));
+    }
+
+    /**
+     * Checks whether this range and another one have at least one version in
+     * common. This check does not create any objects.
+     *
+     * @param other is the other {@link VersionRange}.
+     * @return <code>true</code> is returned in case the ranges intersect.
+     */
+    public final boolean intersectsWith(VersionRange other) {
+	VersionRange lower = compareMinimums(this, other) >= 0 ? this : other;
+	VersionRange upper = compareMaximums(this, other) <= 0 ? this : other;
+	return !isEmpty(lower.minimum, lower.minimumIncluded, upper.maximum, upper.maximumIncluded);
+    }
+
+    /**
+     * Creates the range of all versions included in this range and another one.
+     * The boundaries are taken over from the ranges without copying them.
+     *
+     * @param other is the other {@link VersionRange}.
+     * @return A {@link VersionRange} is returned. {@link #EMPTY} is returned in
+     *         case the ranges do not intersect.
+     */
+    public final VersionRange intersect(VersionRange other) {
+	VersionRange lower = compareMinimums(this, other) >= 0 ? this : other;
+	VersionRange upper = compareMaximums(this, other) <= 0 ? this : other;
+	if (isEmpty(lower.minimum, lower.minimumIncluded, upper.maximum, upper.maximumIncluded)) {
+	    return EMPTY;
+	}
+	return combine(lower, upper);
+    }
+
+    /**
+     * Creates the range of all versions included in this range or another one.
+     * This is only possible, if the ranges overlap or are adjacent.
+     *
+     * @param other is the other {@link VersionRange}.
+     * @return A {@link VersionRange} is returned.
+     * @throws IllegalArgumentException is thrown in case there is a gap between
+     *                                  the ranges, so that the union is not a
+     *                                  single range.
+     */
+    public final VersionRange union(VersionRange other) throws IllegalArgumentException {
+	if (other.isEmpty()) {
+	    return isEmpty() ? EMPTY : this;
+	}
+	if (isEmpty()) {
+	    return other;
+	}
+	VersionRange lower = compareMinimums(this, other) <= 0 ? this : other;
+	VersionRange higher = lower == this ? other : this;
+	if (!touches(lower, higher)) {
+	    throw new IllegalArgumentException(
+		    "The union of the ranges " + this + " and " + other + " is not a single range.");
+	}
+	return combine(lower, compareMaximums(this, other) >= 0 ? this : other);
+    }
+
+    /**
+     * Creates the smallest range including all versions of this range and
+     * another one. Other than {@link #union(VersionRange)}, gaps between the
+     * ranges are included.
+     *
+     * @param other is the other {@link VersionRange}.
+     * @return A {@link VersionRange} is returned.
+     */
+    public final VersionRange span(VersionRange other) {
+	if (other.isEmpty()) {
+	    return isEmpty() ? EMPTY : this;
+	}
+	if (isEmpty()) {
+	    return other;
+	}
+	return combine(compareMinimums(this, other) <= 0 ? this : other,
+		compareMaximums(this, other) >= 0 ? this : other);
+    }
+
+    /**
+     * Checks whether a range overlaps with or is adjacent to a range with a
+     * higher or equal minimum.
+     *
+     * @param lower  is the {@link VersionRange} with the lower minimum.
+     * @param higher is the {@link VersionRange} with the higher minimum.
+     * @return <code>true</code> is returned in case the union of both ranges is a
+     *         single range.
+     */
+    static boolean touches(VersionRange lower, VersionRange higher) {
+	if ((lower.maximum == null) || (higher.minimum == null)) {
+	    return true;
+	}
+	int comparison = higher.minimum.compareTo(lower.maximum);
+	return (comparison < 0) || ((comparison == 0) && (lower.maximumIncluded || higher.minimumIncluded));
+    }
+
+    /**
+     * Combines the lower boundary of one range with the upper boundary of
+     * another one and reuses one of the ranges, if possible.
+     */
+    private static VersionRange combine(VersionRange lower, VersionRange upper) {
+	if (lower == upper) {
+	    return lower;
+	}
+	if ((lower.maximum == upper.maximum) && (lower.maximumIncluded == upper.maximumIncluded)) {
+	    return lower;
+	}
+	if ((upper.minimum == lower.minimum) && (upper.minimumIncluded == lower.minimumIncluded)) {
+	    return upper;
+	}
+	if ((upper.maximum == null) && (compareMinimums(lower, ALL) == 0)) {
+	    return ALL;
+	}
+	return new VersionRange(lower.minimum, lower.minimumIncluded, upper.maximum, upper.maximumIncluded);
+    }
+
+    /**
+     * Returns the hash code, which is calculated on first use and kept
+     * afterwards.
+     */
     @Override
     public int hashCode() {
-	final int prime = 31;
-	int result = 1;
-	result = (prime * result) + ((maximum == null) ? 0 : maximum.hashCode());
-	result = (prime * result) + (maximumIncluded ? 1231 : 1237);
-	result = (prime * result) + ((minimum == null) ? 0 : minimum.hashCode());
-	result = (prime * result) + (minimumIncluded ? 1231 : 1237);
+	int result = hash;
+	if (result == 0) {
+	    final int prime = 31;
+	    result = 1;
+	    result = (prime * result) + ((maximum == null) ? 0 : maximum.hashCode());
+	    result = (prime * result) + (maximumIncluded ? 1231 : 1237);
+	    result = (prime * result) + ((minimum == null) ? 0 : minimum.hashCode());
+	    result = (prime * result) + (minimumIncluded ? 1231 : 1237);
+	    hash = result;
+	}
 	return result;
     }
 
+    /**
+     * Returns a 64 bit fingerprint of this range for off-heap hash tables and
+     * Bloom filters. It is calculated from the {@link Version#fingerprint()}s of
+     * the boundaries and the flags and is stable across JVMs and releases of
+     * this library.
+     *
+     * @return A long is returned.
+     */
+    public long fingerprint() {
+	long result = (minimum == null) ? 0 : minimum.fingerprint();
+	result = Version.mix64(result + (minimumIncluded ? 1 : 2));
+	result = Version.mix64(result + ((maximum == null) ? 0 : maximum.fingerprint()));
+	return Version.mix64(result + (maximumIncluded ? 1 : 2));
+    }
+
     @Override
     public boolean equals(Object obj) {
 	if (this == obj) {
@@ -163,6 +524,13 @@ public class VersionRange implements Serializable {
 	    return false;
 	}
 	VersionRange other = (VersionRange) obj;
+	if ((minimumIncluded != other.minimumIncluded) || (maximumIncluded != other.maximumIncluded)) {
+	    return false;
+	}
+	if ((hash != 0) && (other.hash != 0) && (hash != other.hash)) {
+	    // both hashes are known already and they differ
+	    return false;
+	}
 	if (maximum == null) {
 	    if (other.maximum != null) {
 		return false;
@@ -170,9 +538,6 @@ public class VersionRange implements Serializable {
 	} else if (!maximum.equals(other.maximum)) {
 	    return false;
 	}
-	if (maximumIncluded != other.maximumIncluded) {
-	    return false;
-	}
 	if (minimum == null) {
 	    if (other.minimum != null) {
 		return false;
@@ -180,9 +545,6 @@ public class VersionRange implements Serializable {
 	} else if (!minimum.equals(other.minimum)) {
 	    return false;
 	}
-	if (minimumIncluded != other.minimumIncluded) {
-	    return false;
-	}
 	return true;
     }
 
@@ -208,4 +570,25 @@ public class VersionRange implements Serializable {
 	}
 	return stringBuilder.toString();
     }
+
+    /**
+     * Replaces this object by its compact serialized form written by
+     * {@link VersionCodec}.
+     *
+     * @return A {@link SerializationProxy} is returned.
+     */
+    private Object writeReplace() {
+	return new SerializationProxy(this);
+    }
+
+    /**
+     * Rejects the default serialized form, which would bypass the verification
+     * of the {@link SerializationProxy}.
+     *
+     * @param in is the {@link ObjectInputStream} to read from.
+     * @throws InvalidObjectException is always thrown.
+     */
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+	throw new InvalidObjectException("Proxy required");
+    }
 }
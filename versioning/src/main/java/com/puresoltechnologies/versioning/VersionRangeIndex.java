@@ -0,0 +1,275 @@
+package com.puresoltechnologies.versioning;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * This class is an index over many {@link VersionRange}s with an attached value
+ * each, which answers the question which ranges include a given
+ * {@link Version} without checking all of them.
+ * </p>
+ * <p>
+ * The ranges are kept in an augmented interval tree, which is ordered by the
+ * lower boundaries and keeps the highest upper boundary of each subtree. A
+ * lookup only descends into subtrees which can contain including ranges, so it
+ * visits O(min(n, k log n)) nodes for k results on average, and O(log n) if
+ * there is no result. The tree is a treap and balanced with random
+ * priorities.
+ * </p>
+ * <p>
+ * The tree is persistent: Insertions and removals copy the path to the changed
+ * node and publish a new root, so that lookups run lock-free on a consistent
+ * snapshot and are never blocked by modifications. Modifications are
+ * serialized.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ *
+ * @param <T> is the type of the values attached to the ranges.
+ */
+public final class VersionRangeIndex<T> {
+
+    private static final class Node<T> {
+
+	private final VersionRange range;
+	private final T value;
+	private final long sequence;
+	private final long priority;
+	private final Node<T> left;
+	private final Node<T> right;
+	/**
+	 * The range with the highest upper boundary in this subtree.
+	 */
+	private final VersionRange highest;
+	private final int size;
+
+	private Node(VersionRange range, T value, long sequence, long priority, Node<T> left, Node<T> right) {
+	    super();
+	    this.range = range;
+	    this.value = value;
+	    this.sequence = sequence;
+	    this.priority = priority;
+	    this.left = left;
+	    this.right = right;
+	    VersionRange highest = range;
+	    int size = 1;
+	    if (left != null) {
+		highest = higher(highest, left.highest);
+		size += left.size;
+	    }
+	    if (right != null) {
+		highest = higher(highest, right.highest);
+		size += right.size;
+	    }
+	    this.highest = highest;
+	    this.size = size;
+	}
+
+	private Node<T> with(Node<T> left, Node<T> right) {
+	    return new Node<>(range, value, sequence, priority, left, right);
+	}
+
+	private static VersionRange higher(VersionRange range, VersionRange other) {
+	    return VersionRange.compareMaximums(range, other) >= 0 ? range : other;
+	}
+    }
+
+    private volatile Node<T> root = null;
+    private long nextSequence = 0;
+
+    /**
+     * Creates an empty index.
+     */
+    public VersionRangeIndex() {
+	super();
+    }
+
+    /**
+     * Adds a range with its value to the index. The same range and value may be
+     * added more than once.
+     *
+     * @param range is the {@link VersionRange} to be added.
+     * @param value is the value attached to the range. It may be
+     *              <code>null</code>.
+     */
+    public synchronized void add(VersionRange range, T value) {
+	Objects.requireNonNull(range, "The range must not be null.");
+	long sequence = nextSequence++;
+	Node<T> node = new Node<>(range, value, sequence, mix(sequence), null, null);
+	root = insert(root, node);
+    }
+
+    /**
+     * Removes one occurrence of a range with its value from the index.
+     *
+     * @param range is the {@link VersionRange} to be removed.
+     * @param value is the value attached to the range.
+     * @return <code>true</code> is returned in case the range was found and
+     *         removed.
+     */
+    public synchronized boolean remove(VersionRange range, T value) {
+	Node<T> node = find(root, range, value);
+	if (node == null) {
+	    return false;
+	}
+	root = delete(root, node);
+	return true;
+    }
+
+    /**
+     * Removes all ranges from the index.
+     */
+    public synchronized void clear() {
+	root = null;
+    }
+
+    /**
+     * Returns the number of ranges in the index.
+     *
+     * @return An int is returned.
+     */
+    public int size() {
+	Node<T> current = root;
+	return current == null ? 0 : current.size;
+    }
+
+    /**
+     * Checks whether the index is empty.
+     *
+     * @return <code>true</code> is returned in case there are no ranges.
+     */
+    public boolean isEmpty() {
+	return root == null;
+    }
+
+    /**
+     * Looks up the values of all ranges which include the given version. The
+     * values are returned in the order of the lower boundaries of their ranges.
+     *
+     * @param version is the {@link Version} to look up.
+     * @return A {@link List} of values is returned. It is empty in case no range
+     *         includes the version.
+     */
+    public List<T> findIncluding(Version version) {
+	Objects.requireNonNull(version, "The version must not be null.");
+	List<T> values = new ArrayList<>();
+	collect(root, version, values);
+	return values;
+    }
+
+    private static <T> void collect(Node<T> node, Version version, List<T> values) {
+	while ((node != null) && node.highest.isBelowMaximum(version)) {
+	    collect(node.left, version, values);
+	    if (!node.range.isAboveMinimum(version)) {
+		// all ranges to the right start even later
+		return;
+	    }
+	    if (node.range.isBelowMaximum(version)) {
+		values.add(node.value);
+	    }
+	    node = node.right;
+	}
+    }
+
+    private static int compare(Node<?> node, Node<?> other) {
+	int comparison = VersionRange.compareMinimums(node.range, other.range);
+	if (comparison != 0) {
+	    return comparison;
+	}
+	return Long.compare(node.sequence, other.sequence);
+    }
+
+    private static <T> Node<T> find(Node<T> node, VersionRange range, T value) {
+	while (node != null) {
+	    int comparison = VersionRange.compareMinimums(range, node.range);
+	    if (comparison < 0) {
+		node = node.left;
+	    } else if (comparison > 0) {
+		node = node.right;
+	    } else {
+		// ranges with the same lower boundary may be on both sides
+		if (node.range.equals(range) && Objects.equals(node.value, value)) {
+		    return node;
+		}
+		Node<T> found = find(node.left, range, value);
+		if (found != null) {
+		    return found;
+		}
+		node = node.right;
+	    }
+	}
+	return null;
+    }
+
+    private static <T> Node<T> insert(Node<T> node, Node<T> inserted) {
+	if (node == null) {
+	    return inserted;
+	}
+	if (inserted.priority > node.priority) {
+	    Node<T>[] parts = split(node, inserted);
+	    return inserted.with(parts[0], parts[1]);
+	}
+	if (compare(inserted, node) < 0) {
+	    return node.with(insert(node.left, inserted), node.right);
+	}
+	return node.with(node.left, insert(node.right, inserted));
+    }
+
+    private static <T> Node<T> delete(Node<T> node, Node<T> deleted) {
+	int comparison = compare(deleted, node);
+	if (comparison < 0) {
+	    return node.with(delete(node.left, deleted), node.right);
+	}
+	if (comparison > 0) {
+	    return node.with(node.left, delete(node.right, deleted));
+	}
+	return merge(node.left, node.right);
+    }
+
+    /**
+     * Splits a subtree into the nodes before and after the given key node.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static <T> Node<T>[] split(Node<T> node, Node<T> key) {
+	if (node == null) {
+	    return new Node[2];
+	}
+	if (compare(node, key) < 0) {
+	    Node<T>[] parts = split(node.right, key);
+	    parts[0] = node.with(node.left, parts[0]);
+	    return parts;
+	}
+	Node<T>[] parts = split(node.left, key);
+	parts[1] = node.with(parts[1], node.right);
+	return parts;
+    }
+
+    /**
+     * Merges two subtrees, where all nodes of the left one are before the ones of
+     * the right one.
+     */
+    private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+	if (left == null) {
+	    return right;
+	}
+	if (right == null) {
+	    return left;
+	}
+	if (left.priority > right.priority) {
+	    return left.with(left.left, merge(left.right, right));
+	}
+	return right.with(merge(left, right.left), right.right);
+    }
+
+    /**
+     * Creates a well distributed priority from a sequence number (SplitMix64).
+     */
+    private static long mix(long sequence) {
+	long z = sequence * 0x9E3779B97F4A7C15L;
+	z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+	z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+	return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,343 @@
+package com.puresoltechnologies.versioning;
+
+/**
+ * <p>
+ * This class parses the string representation of a {@link VersionRange}. Two
+ * notations are supported:
+ * </p>
+ * <ul>
+ * <li>Maven like interval notation as created by
+ * {@link VersionRange#toString()}, e.g. <code>[1.0.0, 2.0.0)</code>,
+ * <code>(, 2.0.0]</code>, <code>[1.0.0,)</code> or <code>[1.2.3]</code> for
+ * exactly one version.</li>
+ * <li>npm like comparators separated by whitespace, which all need to be
+ * satisfied, e.g. <code>&gt;=1.2.0 &lt;2.0.0</code>, <code>^1.2.3</code>,
+ * <code>~1.2</code>, <code>1.2.x</code>, <code>1.2.3 - 2.0.0</code> or
+ * <code>*</code>. Partial versions are filled up as npm does.</li>
+ * </ul>
+ * <p>
+ * Unions like <code>||</code> are not supported, because a {@link VersionRange}
+ * is a single interval. {@link VersionRangeSet} supports them.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+final class VersionRangeParser {
+
+    /**
+     * Parses a version range string.
+     *
+     * @param text is the {@link String} to be parsed.
+     * @return A {@link VersionRange} is returned.
+     * @throws IllegalArgumentException is thrown in case the text is not a valid
+     *                                  version range.
+     */
+    static VersionRange parse(String text) throws IllegalArgumentException {
+	String trimmed = text.trim();
+	try {
+	    if (trimmed.isEmpty()) {
+		throw new IllegalArgumentException("The version range must not be empty.");
+	    }
+	    char first = trimmed.charAt(0);
+	    if ((first == '[') || (first == '(')) {
+		return parseInterval(trimmed);
+	    }
+	    return new VersionRangeParser().parseComparators(trimmed);
+	} catch (IllegalArgumentException e) {
+	    throw new IllegalArgumentException("Invalid version range '" + text + "': " + e.getMessage(), e);
+	}
+    }
+
+    private static VersionRange parseInterval(String text) {
+	char last = text.charAt(text.length() - 1);
+	if ((text.length() < 2) || ((last != ']') && (last != ')'))) {
+	    throw new IllegalArgumentException("The interval needs to be closed with ']' or ')'.");
+	}
+	boolean minimumIncluded = text.charAt(0) == '[';
+	boolean maximumIncluded = last == ']';
+	String inner = text.substring(1, text.length() - 1);
+	int comma = inner.indexOf(',');
+	if (comma < 0) {
+	    if (!minimumIncluded || !maximumIncluded) {
+		throw new IllegalArgumentException("A single version needs to be enclosed in '[' and ']'.");
+	    }
+	    Version version = Version.valueOf(inner.trim());
+	    return new VersionRange(version, true, version, true);
+	}
+	if (inner.indexOf(',', comma + 1) >= 0) {
+	    throw new IllegalArgumentException("An interval must not contain more than two versions.");
+	}
+	String minimum = inner.substring(0, comma).trim();
+	String maximum = inner.substring(comma + 1).trim();
+	return new VersionRange(minimum.isEmpty() ? null : Version.valueOf(minimum), minimumIncluded,
+		maximum.isEmpty() ? null : Version.valueOf(maximum), maximumIncluded);
+    }
+
+    private Version minimum = null;
+    private boolean minimumIncluded = false;
+    private Version maximum = null;
+    private boolean maximumIncluded = false;
+
+    private VersionRangeParser() {
+	super();
+    }
+
+    private VersionRange parseComparators(String text) {
+	if (text.contains("||")) {
+	    throw new IllegalArgumentException(
+		    "Unions are not supported by a single version range, but by VersionRangeSet.");
+	}
+	String[] tokens = text.split("\\s+");
+	if ((tokens.length == 3) && tokens[1].equals("-")) {
+	    PartialVersion from = PartialVersion.valueOf(tokens[0]);
+	    PartialVersion to = PartialVersion.valueOf(tokens[2]);
+	    restrictMinimum(from.lowest(), true);
+	    if (to.isComplete()) {
+		restrictMaximum(to.toVersion(), true);
+	    } else if (!to.isAny()) {
+		restrictMaximum(to.next(), false);
+	    }
+	} else {
+	    for (int index = 0; index < tokens.length; index++) {
+		String token = tokens[index];
+		if (isOperator(token) && (index + 1 < tokens.length)) {
+		    // operator and version are separated by whitespace
+		    index++;
+		    token = token + tokens[index];
+		}
+		applyComparator(token);
+	    }
+	}
+	return new VersionRange(minimum, minimumIncluded, maximum, maximumIncluded);
+    }
+
+    private static boolean isOperator(String token) {
+	switch (token) {
+	case ">":
+	case ">=":
+	case "<":
+	case "<=":
+	case "=":
+	case "^":
+	case "~":
+	    return true;
+	default:
+	    return false;
+	}
+    }
+
+    private void applyComparator(String comparator) {
+	if (comparator.startsWith(">=")) {
+	    PartialVersion version = PartialVersion.valueOf(comparator.substring(2));
+	    if (!version.isAny()) {
+		restrictMinimum(version.lowest(), true);
+	    }
+	} else if (comparator.startsWith("<=")) {
+	    PartialVersion version = PartialVersion.valueOf(comparator.substring(2));
+	    if (version.isComplete()) {
+		restrictMaximum(version.toVersion(), true);
+	    } else if (!version.isAny()) {
+		restrictMaximum(version.next(), false);
+	    }
+	} else if (comparator.startsWith(">")) {
+	    PartialVersion version = PartialVersion.valueOf(comparator.substring(1));
+	    if (version.isAny()) {
+		throw new IllegalArgumentException("'>*' cannot be satisfied.");
+	    } else if (version.isComplete()) {
+		restrictMinimum(version.toVersion(), false);
+	    } else {
+		restrictMinimum(version.next(), true);
+	    }
+	} else if (comparator.startsWith("<")) {
+	    PartialVersion version = PartialVersion.valueOf(comparator.substring(1));
+	    if (version.isAny()) {
+		throw new IllegalArgumentException("'<*' cannot be satisfied.");
+	    }
+	    restrictMaximum(version.lowest(), false);
+	} else if (comparator.startsWith("^")) {
+	    PartialVersion version = PartialVersion.valueOf(comparator.substring(1));
+	    if (!version.isAny()) {
+		restrictMinimum(version.lowest(), true);
+		restrictMaximum(version.nextCompatible(), false);
+	    }
+	} else if (comparator.startsWith("~")) {
+	    PartialVersion version = PartialVersion.valueOf(comparator.substring(1));
+	    if (!version.isAny()) {
+		restrictMinimum(version.lowest(), true);
+		restrictMaximum(version.nextMinor(), false);
+	    }
+	} else {
+	    PartialVersion version = PartialVersion
+		    .valueOf(comparator.startsWith("=") ? comparator.substring(1) : comparator);
+	    if (version.isComplete()) {
+		restrictMinimum(version.toVersion(), true);
+		restrictMaximum(version.toVersion(), true);
+	    } else if (!version.isAny()) {
+		restrictMinimum(version.lowest(), true);
+		restrictMaximum(version.next(), false);
+	    }
+	}
+    }
+
+    private void restrictMinimum(Version version, boolean included) {
+	if (minimum != null) {
+	    int comparison = version.compareTo(minimum);
+	    if ((comparison < 0) || ((comparison == 0) && (included || !minimumIncluded))) {
+		return;
+	    }
+	}
+	minimum = version;
+	minimumIncluded = included;
+    }
+
+    private void restrictMaximum(Version version, boolean included) {
+	if (maximum != null) {
+	    int comparison = version.compareTo(maximum);
+	    if ((comparison > 0) || ((comparison == 0) && (included || !maximumIncluded))) {
+		return;
+	    }
+	}
+	maximum = version;
+	maximumIncluded = included;
+    }
+
+    /**
+     * This class represents npm like partial versions with missing or wildcard
+     * parts like <code>1</code>, <code>1.2</code>, <code>1.x</code> or
+     * <code>*</code>. Complete versions may carry pre-release information and
+     * build metadata.
+     */
+    private static final class PartialVersion {
+
+	static PartialVersion valueOf(String text) {
+	    if (text.startsWith("v")) {
+		text = text.substring(1);
+	    }
+	    if (text.isEmpty()) {
+		throw new IllegalArgumentException("A version is missing.");
+	    }
+	    if ((text.indexOf('-') >= 0) || (text.indexOf('+') >= 0)) {
+		// only complete versions carry pre-release information or build metadata
+		return new PartialVersion(Version.valueOf(text));
+	    }
+	    String[] parts = text.split("\\.", -1);
+	    if (parts.length > 3) {
+		throw new IllegalArgumentException("Invalid version '" + text + "'.");
+	    }
+	    int[] numbers = { -1, -1, -1 };
+	    boolean wildcard = false;
+	    for (int part = 0; part < parts.length; part++) {
+		if (isWildcard(parts[part])) {
+		    wildcard = true;
+		} else if (wildcard) {
+		    throw new IllegalArgumentException("Only wildcards may follow a wildcard in '" + text + "'.");
+		} else {
+		    numbers[part] = parseNumber(parts[part], text);
+		}
+	    }
+	    if (numbers[2] >= 0) {
+		return new PartialVersion(new Version(numbers[0], numbers[1], numbers[2]));
+	    }
+	    return new PartialVersion(numbers[0], numbers[1]);
+	}
+
+	private static boolean isWildcard(String part) {
+	    return part.equals("x") || part.equals("X") || part.equals("*");
+	}
+
+	private static int parseNumber(String number, String text) {
+	    if (number.isEmpty() || ((number.length() > 1) && (number.charAt(0) == '0'))) {
+		throw new IllegalArgumentException("Invalid number '" + number + "' in '" + text + "'.");
+	    }
+	    for (int index = 0; index < number.length(); index++) {
+		char c = number.charAt(index);
+		if ((c < '0') || (c > '9')) {
+		    throw new IllegalArgumentException("Invalid number '" + number + "' in '" + text + "'.");
+		}
+	    }
+	    int value = Integer.parseInt(number);
+	    if (value == Integer.MAX_VALUE) {
+		throw new IllegalArgumentException("Number '" + number + "' in '" + text + "' is too large.");
+	    }
+	    return value;
+	}
+
+	private final int major;
+	private final int minor;
+	private final Version version;
+
+	private PartialVersion(Version version) {
+	    super();
+	    this.major = version.getMajor();
+	    this.minor = version.getMinor();
+	    this.version = version;
+	}
+
+	private PartialVersion(int major, int minor) {
+	    super();
+	    this.major = major;
+	    this.minor = minor;
+	    this.version = null;
+	}
+
+	boolean isAny() {
+	    return major < 0;
+	}
+
+	boolean isComplete() {
+	    return version != null;
+	}
+
+	Version toVersion() {
+	    return version;
+	}
+
+	/**
+	 * Returns the lowest version matching this partial version.
+	 */
+	Version lowest() {
+	    if (version != null) {
+		return version;
+	    }
+	    return new Version(major, Math.max(minor, 0), 0);
+	}
+
+	/**
+	 * Returns the first version after all versions matching this partial
+	 * version.
+	 */
+	Version next() {
+	    if (version != null) {
+		return new Version(major, minor, version.getPatch() + 1);
+	    }
+	    if (minor >= 0) {
+		return new Version(major, minor + 1, 0);
+	    }
+	    return new Version(major + 1, 0, 0);
+	}
+
+	/**
+	 * Returns the upper boundary of the tilde operator.
+	 */
+	Version nextMinor() {
+	    if (minor >= 0) {
+		return new Version(major, minor + 1, 0);
+	    }
+	    return new Version(major + 1, 0, 0);
+	}
+
+	/**
+	 * Returns the upper boundary of the caret operator, which allows changes
+	 * not modifying the left-most non-zero part.
+	 */
+	Version nextCompatible() {
+	    if ((major > 0) || (minor < 0)) {
+		return new Version(major + 1, 0, 0);
+	    }
+	    if ((minor > 0) || (version == null)) {
+		return new Version(0, minor + 1, 0);
+	    }
+	    return new Version(0, 0, version.getPatch() + 1);
+	}
+    }
+}
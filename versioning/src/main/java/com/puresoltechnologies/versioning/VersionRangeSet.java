@@ -0,0 +1,283 @@
+package com.puresoltechnologies.versioning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * This class represents a union of {@link VersionRange}s like
+ * <code>[1.0.0, 1.5.0) || [2.0.0, 3.0.0)</code>. The ranges are normalized on
+ * creation: Empty ranges are dropped and overlapping or adjacent ranges are
+ * merged, so that the set keeps sorted and disjoint ranges only.
+ * </p>
+ * <p>
+ * This allows to check a {@link Version} with a binary search and to create
+ * unions, intersections and complements in time linear to the number of
+ * ranges. Sets are immutable and can be shared between threads.
+ * </p>
+ * <p>
+ * Like for {@link VersionRange}, the versions above 0.0.0 are the universe of
+ * this class, so that the complement of the empty set is <code>(0.0.0, )</code>.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersionRangeSet {
+
+    private static final VersionRange[] NO_RANGES = new VersionRange[0];
+
+    /**
+     * The set which does not include any version.
+     */
+    public static final VersionRangeSet EMPTY = new VersionRangeSet(NO_RANGES);
+
+    /**
+     * The set which includes all versions above 0.0.0.
+     */
+    public static final VersionRangeSet ALL = new VersionRangeSet(new VersionRange[] { VersionRange.ALL });
+
+    /**
+     * Parses a union of version ranges separated by <code>||</code>. Each range
+     * is parsed with {@link VersionRange#valueOf(CharSequence)}.
+     *
+     * @param text is the {@link CharSequence} containing the ranges.
+     * @return A {@link VersionRangeSet} is returned.
+     * @throws IllegalArgumentException is thrown in case one of the ranges is not
+     *                                  valid.
+     */
+    public static VersionRangeSet valueOf(CharSequence text) throws IllegalArgumentException {
+	String[] parts = text.toString().split("\\|\\|", -1);
+	VersionRange[] ranges = new VersionRange[parts.length];
+	for (int index = 0; index < parts.length; index++) {
+	    ranges[index] = VersionRange.valueOf(parts[index]);
+	}
+	return of(ranges);
+    }
+
+    /**
+     * Creates the union of the given ranges.
+     *
+     * @param ranges are the {@link VersionRange}s to be united.
+     * @return A {@link VersionRangeSet} is returned.
+     */
+    public static VersionRangeSet of(VersionRange... ranges) {
+	VersionRange[] sorted = ranges.clone();
+	Arrays.sort(sorted, VersionRange::compareMinimums);
+	return normalize(sorted, sorted.length);
+    }
+
+    /**
+     * Creates the union of the given ranges.
+     *
+     * @param ranges is a {@link Collection} of {@link VersionRange}s to be
+     *               united.
+     * @return A {@link VersionRangeSet} is returned.
+     */
+    public static VersionRangeSet of(Collection<VersionRange> ranges) {
+	return of(ranges.toArray(NO_RANGES));
+    }
+
+    /**
+     * Merges overlapping and adjacent ranges of a sorted array in place.
+     */
+    private static VersionRangeSet normalize(VersionRange[] sorted, int length) {
+	int count = 0;
+	VersionRange current = null;
+	for (int index = 0; index < length; index++) {
+	    VersionRange range = sorted[index];
+	    if (range.isEmpty()) {
+		continue;
+	    }
+	    if (current == null) {
+		current = range;
+	    } else if (VersionRange.touches(current, range)) {
+		current = current.span(range);
+	    } else {
+		sorted[count++] = current;
+		current = range;
+	    }
+	}
+	if (current == null) {
+	    return EMPTY;
+	}
+	sorted[count++] = current;
+	return new VersionRangeSet(Arrays.copyOf(sorted, count));
+    }
+
+    private final VersionRange[] ranges;
+
+    private VersionRangeSet(VersionRange[] ranges) {
+	super();
+	this.ranges = ranges;
+    }
+
+    /**
+     * Returns the sorted and disjoint ranges of this set.
+     *
+     * @return An unmodifiable {@link List} of {@link VersionRange}s is returned.
+     */
+    public List<VersionRange> getRanges() {
+	return Collections.unmodifiableList(Arrays.asList(ranges));
+    }
+
+    /**
+     * Checks whether this set does not include any version.
+     *
+     * @return <code>true</code> is returned in case the set is empty.
+     */
+    public boolean isEmpty() {
+	return ranges.length == 0;
+    }
+
+    /**
+     * Checks whether a version is included in one of the ranges. The range is
+     * looked up by binary search.
+     *
+     * @param version is the {@link Version} to be checked.
+     * @return <code>true</code> is returned in case the version is included.
+     */
+    public boolean includes(Version version) {
+	// find the number of ranges starting at or before the version
+	int low = 0;
+	int high = ranges.length;
+	while (low < high) {
+	    int middle = (low + high) >>> 1;
+	    if (ranges[middle].isAboveMinimum(version)) {
+		low = middle + 1;
+	    } else {
+		high = middle;
+	    }
+	}
+	return (low > 0) && ranges[low - 1].isBelowMaximum(version);
+    }
+
+    /**
+     * Creates the union of this set and another one.
+     *
+     * @param other is the other {@link VersionRangeSet}.
+     * @return A {@link VersionRangeSet} is returned.
+     */
+    public VersionRangeSet union(VersionRangeSet other) {
+	if (other.ranges.length == 0) {
+	    return this;
+	}
+	if (ranges.length == 0) {
+	    return other;
+	}
+	VersionRange[] merged = new VersionRange[ranges.length + other.ranges.length];
+	int i = 0;
+	int j = 0;
+	int count = 0;
+	while ((i < ranges.length) && (j < other.ranges.length)) {
+	    if (VersionRange.compareMinimums(ranges[i], other.ranges[j]) <= 0) {
+		merged[count++] = ranges[i++];
+	    } else {
+		merged[count++] = other.ranges[j++];
+	    }
+	}
+	while (i < ranges.length) {
+	    merged[count++] = ranges[i++];
+	}
+	while (j < other.ranges.length) {
+	    merged[count++] = other.ranges[j++];
+	}
+	return normalize(merged, count);
+    }
+
+    /**
+     * Creates the intersection of this set and another one.
+     *
+     * @param other is the other {@link VersionRangeSet}.
+     * @return A {@link VersionRangeSet} is returned.
+     */
+    public VersionRangeSet intersection(VersionRangeSet other) {
+	List<VersionRange> result = new ArrayList<>();
+	int i = 0;
+	int j = 0;
+	while ((i < ranges.length) && (j < other.ranges.length)) {
+	    VersionRange range = ranges[i];
+	    VersionRange otherRange = other.ranges[j];
+	    VersionRange intersection = range.intersect(otherRange);
+	    if (VersionRange.compareMaximums(range, otherRange) <= 0) {
+		i++;
+	    } else {
+		j++;
+	    }
+	    if (!intersection.isEmpty()) {
+		result.add(intersection);
+	    }
+	}
+	if (result.isEmpty()) {
+	    return EMPTY;
+	}
+	return new VersionRangeSet(result.toArray(NO_RANGES));
+    }
+
+    /**
+     * Creates the complement of this set within the versions above 0.0.0.
+     *
+     * @return A {@link VersionRangeSet} is returned.
+     */
+    public VersionRangeSet complement() {
+	List<VersionRange> result = new ArrayList<>(ranges.length + 1);
+	Version gapMinimum = new Version(0, 0, 0);
+	boolean gapMinimumIncluded = false;
+	for (VersionRange range : ranges) {
+	    if (range.getMinimum() != null) {
+		VersionRange gap = new VersionRange(gapMinimum, gapMinimumIncluded, range.getMinimum(),
+			!range.isMinimumIncluded());
+		if (!gap.isEmpty()) {
+		    result.add(gap);
+		}
+	    }
+	    if (range.getMaximum() == null) {
+		return result.isEmpty() ? EMPTY : new VersionRangeSet(result.toArray(NO_RANGES));
+	    }
+	    if (range.getMaximum().compareTo(gapMinimum) >= 0) {
+		gapMinimum = range.getMaximum();
+		gapMinimumIncluded = !range.isMaximumIncluded();
+	    }
+	}
+	result.add(new VersionRange(gapMinimum, gapMinimumIncluded, null, false));
+	return new VersionRangeSet(result.toArray(NO_RANGES));
+    }
+
+    @Override
+    public int hashCode() {
+	return Arrays.hashCode(ranges);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+	if (this == obj) {
+	    return true;
+	}
+	if (obj == null) {
+	    return false;
+	}
+	if (getClass() != obj.getClass()) {
+	    return false;
+	}
+	VersionRangeSet other = (VersionRangeSet) obj;
+	return Arrays.equals(ranges, other.ranges);
+    }
+
+    @Override
+    public String toString() {
+	if (ranges.length == 0) {
+	    // the canonical empty range
+	    return "(0.0.0, 0.0.0)";
+	}
+	StringBuilder stringBuilder = new StringBuilder();
+	for (int index = 0; index < ranges.length; index++) {
+	    if (index > 0) {
+		stringBuilder.append(" || ");
+	    }
+	    stringBuilder.append(ranges[index]);
+	}
+	return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,218 @@
+package com.puresoltechnologies.versioning;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * <p>
+ * This class is a concurrent registry of the released {@link Version}s per
+ * package, which is optimized for many readers and rare publishes.
+ * </p>
+ * <p>
+ * All data is kept in an immutable snapshot of sorted arrays. Publishes copy
+ * the snapshot, change the copy and publish it with release semantics, while
+ * readers pick up the current snapshot with acquire semantics. Readers never
+ * take a lock and are never blocked by publishes, so that their latency does
+ * not depend on the write load. Publishes are serialized and a batch of
+ * publishes becomes visible to readers at once.
+ * </p>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersionRegistry {
+
+    private static final VarHandle SNAPSHOT;
+    static {
+	try {
+	    SNAPSHOT = MethodHandles.lookup().findVarHandle(VersionRegistry.class, "snapshot", Map.class);
+	} catch (ReflectiveOperationException e) {
+	    throw new ExceptionInInitializerError(e);
+	}
+    }
+
+    /**
+     * This class keeps the versions of one package with the precomputed results
+     * of the most frequent lookups.
+     */
+    private static final class Entry {
+
+	private final VersionIndex index;
+	private final Version latest;
+	private final Version latestStable;
+
+	private Entry(Version[] sortedVersions) {
+	    super();
+	    this.index = VersionIndex.ofSorted(sortedVersions);
+	    this.latest = sortedVersions[sortedVersions.length - 1];
+	    Version latestStable = null;
+	    for (int i = sortedVersions.length - 1; i >= 0; i--) {
+		if (isStableRelease(sortedVersions[i])) {
+		    latestStable = sortedVersions[i];
+		    break;
+		}
+	    }
+	    this.latestStable = latestStable;
+	}
+    }
+
+    /**
+     * The current immutable snapshot. It is only accessed via {@link #SNAPSHOT}.
+     */
+    @SuppressWarnings("unused")
+    private Map<String, Entry> snapshot = Collections.emptyMap();
+
+    /**
+     * Creates an empty registry.
+     */
+    public VersionRegistry() {
+	super();
+    }
+
+    /**
+     * Checks whether a version is a stable release, which is a stable version
+     * as defined by {@link Version#isStable()} without pre-release information.
+     *
+     * @param version is the {@link Version} to be checked.
+     * @return <code>true</code> is returned in case the version is a stable
+     *         release.
+     */
+    static boolean isStableRelease(Version version) {
+	return version.isStable() && (version.getPreReleaseInformation() == null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Entry> snapshot() {
+	return (Map<String, Entry>) SNAPSHOT.getAcquire(this);
+    }
+
+    /**
+     * Publishes a version of a package. Already published versions are ignored.
+     *
+     * @param packageName is the name of the package.
+     * @param version     is the {@link Version} to be published.
+     */
+    public void publish(String packageName, Version version) {
+	publish(Collections.singletonMap(packageName, Collections.singletonList(version)));
+    }
+
+    /**
+     * Publishes versions of several packages atomically: Readers either see all
+     * of them or none. Already published versions are ignored.
+     *
+     * @param versions is a {@link Map} from package names to the
+     *                 {@link Version}s to be published.
+     */
+    public synchronized void publish(Map<String, ? extends Collection<Version>> versions) {
+	Object event = VersioningInstrumentation.beginBulkOperation();
+	int count = 0;
+	Map<String, Entry> current = snapshot();
+	Map<String, Entry> next = new HashMap<>(current);
+	for (Map.Entry<String, ? extends Collection<Version>> published : versions.entrySet()) {
+	    if (published.getValue().isEmpty()) {
+		continue;
+	    }
+	    count += published.getValue().size();
+	    Entry entry = current.get(published.getKey());
+	    List<Version> existing = entry == null ? Collections.<Version>emptyList() : entry.index.getVersions();
+	    next.put(published.getKey(), new Entry(merge(existing, published.getValue())));
+	}
+	SNAPSHOT.setRelease(this, Collections.unmodifiableMap(next));
+	VersioningInstrumentation.endBulkOperation(event, "VersionRegistry.publish", count);
+    }
+
+    /**
+     * Merges published versions into the sorted existing ones and drops
+     * duplicates.
+     */
+    private static Version[] merge(List<Version> existing, Collection<Version> published) {
+	List<Version> versions = new ArrayList<>(existing.size() + published.size());
+	versions.addAll(existing);
+	versions.addAll(published);
+	return VersionIndex.sortedUnique(versions);
+    }
+
+    /**
+     * Removes a package with all its versions.
+     *
+     * @param packageName is the name of the package.
+     * @return <code>true</code> is returned in case the package was registered.
+     */
+    public synchronized boolean remove(String packageName) {
+	Map<String, Entry> current = snapshot();
+	if (!current.containsKey(packageName)) {
+	    return false;
+	}
+	Map<String, Entry> next = new HashMap<>(current);
+	next.remove(packageName);
+	SNAPSHOT.setRelease(this, Collections.unmodifiableMap(next));
+	return true;
+    }
+
+    /**
+     * Returns the names of all registered packages.
+     *
+     * @return An unmodifiable {@link Set} of package names is returned.
+     */
+    public Set<String> getPackageNames() {
+	return snapshot().keySet();
+    }
+
+    /**
+     * Returns the published versions of a package.
+     *
+     * @param packageName is the name of the package.
+     * @return An unmodifiable {@link List} of {@link Version}s is returned in
+     *         ascending order. It is empty for unknown packages.
+     */
+    public List<Version> getVersions(String packageName) {
+	Entry entry = snapshot().get(packageName);
+	return entry == null ? Collections.<Version>emptyList() : entry.index.getVersions();
+    }
+
+    /**
+     * Returns the highest published version of a package.
+     *
+     * @param packageName is the name of the package.
+     * @return The {@link Version} is returned or an empty {@link Optional} for
+     *         unknown packages.
+     */
+    public Optional<Version> getLatest(String packageName) {
+	Entry entry = snapshot().get(packageName);
+	return entry == null ? Optional.empty() : Optional.of(entry.latest);
+    }
+
+    /**
+     * Returns the highest published stable release of a package. Stable
+     * releases are stable versions as defined by {@link Version#isStable()}
+     * without pre-release information.
+     *
+     * @param packageName is the name of the package.
+     * @return The {@link Version} is returned or an empty {@link Optional} in
+     *         case there is no stable release.
+     */
+    public Optional<Version> getLatestStable(String packageName) {
+	Entry entry = snapshot().get(packageName);
+	return entry == null ? Optional.empty() : Optional.ofNullable(entry.latestStable);
+    }
+
+    /**
+     * Returns the highest published version of a package within a range.
+     *
+     * @param packageName is the name of the package.
+     * @param range       is the {@link VersionRange} to look into.
+     * @return The {@link Version} is returned or an empty {@link Optional} in
+     *         case there is no version within the range.
+     */
+    public Optional<Version> getHighestIn(String packageName, VersionRange range) {
+	Entry entry = snapshot().get(packageName);
+	return entry == null ? Optional.empty() : entry.index.highestIn(range);
+    }
+}
@@ -0,0 +1,155 @@
+package com.puresoltechnologies.versioning;
+
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * <p>
+ * This class controls the opt-in instrumentation of the library. The
+ * instrumentation is enabled by setting the system property
+ * {@value #ENABLED_PROPERTY} to <code>true</code> at startup. The property is
+ * read once into a constant, so that the JIT compiler removes all
+ * instrumentation code in case it is disabled.
+ * </p>
+ * <p>
+ * In case the instrumentation is enabled, the library
+ * </p>
+ * <ul>
+ * <li>reports parse, cache and comparison counts to the current
+ * {@link VersionMetrics} and</li>
+ * <li>emits Java Flight Recorder events, in case the module
+ * <code>jdk.jfr</code> is available: <code>com.puresoltechnologies.versioning.Parse</code>
+ * for each parsed version string (disabled in recordings by default, because
+ * it is very frequent) and <code>com.puresoltechnologies.versioning.BulkOperation</code>
+ * for bulk operations like loading a version file.</li>
+ * </ul>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public final class VersioningInstrumentation {
+
+    /**
+     * The name of the system property to enable the instrumentation.
+     */
+    public static final String ENABLED_PROPERTY = "com.puresoltechnologies.versioning.instrumentation";
+
+    static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * Is <code>true</code> in case the instrumentation is enabled and Java Flight
+     * Recorder is available.
+     */
+    static final boolean EVENTS;
+
+    private static final VersionMetrics NO_METRICS = new VersionMetrics() {
+    };
+
+    private static volatile VersionMetrics metrics = NO_METRICS;
+
+    static {
+	boolean events = false;
+	if (ENABLED) {
+	    Optional<Module> jfr = ModuleLayer.boot().findModule("jdk.jfr");
+	    if (jfr.isPresent()) {
+		// jdk.jfr is an optional (static) dependency, which is only read when asked for.
+		VersioningInstrumentation.class.getModule().addReads(jfr.get());
+		events = true;
+	    }
+	    metrics = ServiceLoader.load(VersionMetrics.class).findFirst().orElse(NO_METRICS);
+	}
+	EVENTS = events;
+    }
+
+    /**
+     * Returns whether the instrumentation is enabled.
+     *
+     * @return <code>true</code> is returned in case the system property
+     *         {@value #ENABLED_PROPERTY} was set to <code>true</code> at startup.
+     */
+    public static boolean isEnabled() {
+	return ENABLED;
+    }
+
+    /**
+     * Returns the current metrics.
+     *
+     * @return A {@link VersionMetrics} object is returned. It does nothing in case
+     *         no metrics were provided.
+     */
+    public static VersionMetrics getMetrics() {
+	return metrics;
+    }
+
+    /**
+     * Replaces the current metrics. The metrics are only called in case the
+     * instrumentation is enabled.
+     *
+     * @param metrics is the {@link VersionMetrics} to be called. <code>null</code>
+     *                removes the current metrics.
+     */
+    public static void setMetrics(VersionMetrics metrics) {
+	VersioningInstrumentation.metrics = metrics == null ? NO_METRICS : metrics;
+    }
+
+    /**
+     * Begins a parse event.
+     *
+     * @return The event is returned or <code>null</code> in case no event is
+     *         recorded. It is typed as {@link Object}, so that the Flight
+     *         Recorder classes are not loaded without need.
+     */
+    static Object beginParse() {
+	return EVENTS ? VersionParseEvent.beginEvent() : null;
+    }
+
+    /**
+     * Ends a parse event and reports the parse to the metrics.
+     */
+    static void endParse(Object event, int inputLength, boolean success) {
+	if (event != null) {
+	    VersionParseEvent.commitEvent(event, inputLength, success);
+	}
+	if (success) {
+	    metrics.parsed();
+	} else {
+	    metrics.parseFailed();
+	}
+    }
+
+    /**
+     * Begins a bulk operation event.
+     *
+     * @return The event is returned or <code>null</code> in case no event is
+     *         recorded.
+     */
+    static Object beginBulkOperation() {
+	return EVENTS ? VersionBulkOperationEvent.beginEvent() : null;
+    }
+
+    /**
+     * Ends a bulk operation event.
+     */
+    static void endBulkOperation(Object event, String operation, int count) {
+	if (event != null) {
+	    VersionBulkOperationEvent.commitEvent(event, operation, count);
+	}
+    }
+
+    static void cacheHit() {
+	metrics.cacheHit();
+    }
+
+    static void cacheMiss() {
+	metrics.cacheMiss();
+    }
+
+    static void compared() {
+	metrics.compared();
+    }
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private VersioningInstrumentation() {
+    }
+}
@@ -0,0 +1,58 @@
+package com.puresoltechnologies.versioning.jackson;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.puresoltechnologies.versioning.Version;
+import com.puresoltechnologies.versioning.VersionCache;
+
+/**
+ * This deserializer reads a {@link Version} from a JSON string. Without a
+ * {@link VersionCache}, the version is parsed directly from the character
+ * buffer of the parser without creating a {@link String}. With a cache, the
+ * string is looked up in the cache and only parsed in case of a miss.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class VersionDeserializer extends StdScalarDeserializer<Version> {
+
+    private static final long serialVersionUID = 6462930734598371553L;
+
+    private final VersionCache cache;
+
+    /**
+     * Creates a deserializer without cache.
+     */
+    public VersionDeserializer() {
+	this(null);
+    }
+
+    /**
+     * Creates a deserializer.
+     *
+     * @param cache is the {@link VersionCache} to take canonical instances from.
+     *              It may be <code>null</code> to parse every version.
+     */
+    public VersionDeserializer(VersionCache cache) {
+	super(Version.class);
+	this.cache = cache;
+    }
+
+    @Override
+    public Version deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+	if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+	    return (Version) context.handleUnexpectedToken(Version.class, parser);
+	}
+	try {
+	    if (cache != null) {
+		return cache.intern(parser.getText());
+	    }
+	    return Version.valueOf(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+	} catch (IllegalArgumentException e) {
+	    throw context.weirdStringException(parser.getText(), Version.class, e.getMessage());
+	}
+    }
+}
@@ -0,0 +1,41 @@
+package com.puresoltechnologies.versioning.jackson;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.puresoltechnologies.versioning.VersionRange;
+
+/**
+ * This deserializer reads a {@link VersionRange} from a JSON string in any
+ * notation supported by {@link VersionRange#valueOf(CharSequence)}, e.g.
+ * <code>"[1.0.0, 2.0.0)"</code> or <code>"^1.2.3"</code>.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class VersionRangeDeserializer extends StdScalarDeserializer<VersionRange> {
+
+    private static final long serialVersionUID = -1744618963390474519L;
+
+    /**
+     * Creates a new deserializer.
+     */
+    public VersionRangeDeserializer() {
+	super(VersionRange.class);
+    }
+
+    @Override
+    public VersionRange deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+	if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+	    return (VersionRange) context.handleUnexpectedToken(VersionRange.class, parser);
+	}
+	String text = parser.getText();
+	try {
+	    return VersionRange.valueOf(text);
+	} catch (IllegalArgumentException e) {
+	    throw context.weirdStringException(text, VersionRange.class, e.getMessage());
+	}
+    }
+}
@@ -0,0 +1,32 @@
+package com.puresoltechnologies.versioning.jackson;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.puresoltechnologies.versioning.VersionRange;
+
+/**
+ * This serializer writes a {@link VersionRange} as JSON string in interval
+ * notation, e.g. <code>"[1.0.0, 2.0.0)"</code>.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class VersionRangeSerializer extends StdScalarSerializer<VersionRange> {
+
+    private static final long serialVersionUID = 3030957744735474196L;
+
+    /**
+     * Creates a new serializer.
+     */
+    public VersionRangeSerializer() {
+	super(VersionRange.class);
+    }
+
+    @Override
+    public void serialize(VersionRange value, JsonGenerator generator, SerializerProvider provider)
+	    throws IOException {
+	generator.writeString(value.toString());
+    }
+}
@@ -0,0 +1,31 @@
+package com.puresoltechnologies.versioning.jackson;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.puresoltechnologies.versioning.Version;
+
+/**
+ * This serializer writes a {@link Version} as JSON string in its Semantic
+ * Versioning notation.
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class VersionSerializer extends StdScalarSerializer<Version> {
+
+    private static final long serialVersionUID = -2436237616424520541L;
+
+    /**
+     * Creates a new serializer.
+     */
+    public VersionSerializer() {
+	super(Version.class);
+    }
+
+    @Override
+    public void serialize(Version value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+	generator.writeString(value.toString());
+    }
+}
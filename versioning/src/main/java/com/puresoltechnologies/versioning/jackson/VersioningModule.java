@@ -0,0 +1,42 @@
+package com.puresoltechnologies.versioning.jackson;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.puresoltechnologies.versioning.Version;
+import com.puresoltechnologies.versioning.VersionCache;
+import com.puresoltechnologies.versioning.VersionRange;
+
+/**
+ * This Jackson module (de)serializes {@link Version}s and {@link VersionRange}s
+ * as JSON strings in their usual notations:
+ *
+ * <pre>
+ * ObjectMapper mapper = new ObjectMapper().registerModule(new VersioningModule());
+ * </pre>
+ *
+ * @author Rick-Rainer Ludwig
+ */
+public class VersioningModule extends SimpleModule {
+
+    private static final long serialVersionUID = -4412262745658171024L;
+
+    /**
+     * Creates a module which parses every version.
+     */
+    public VersioningModule() {
+	this(null);
+    }
+
+    /**
+     * Creates a module which takes the versions from a cache.
+     *
+     * @param cache is the {@link VersionCache} to take canonical instances from.
+     *              It may be <code>null</code> to parse every version.
+     */
+    public VersioningModule(VersionCache cache) {
+	super(VersioningModule.class.getSimpleName());
+	addSerializer(Version.class, new VersionSerializer());
+	addDeserializer(Version.class, new VersionDeserializer(cache));
+	addSerializer(VersionRange.class, new VersionRangeSerializer());
+	addDeserializer(VersionRange.class, new VersionRangeDeserializer());
+    }
+}
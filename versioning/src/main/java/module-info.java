@@ -1,5 +1,13 @@
 module com.puresoltechnologies.versioning {
 
+    // The jackson package exposes Jackson types, so modules reading it read Jackson, too.
+    requires static transitive com.fasterxml.jackson.core;
+    requires static transitive com.fasterxml.jackson.databind;
+    requires static jdk.jfr;
+
     exports com.puresoltechnologies.versioning;
+    exports com.puresoltechnologies.versioning.jackson;
+
+    uses com.puresoltechnologies.versioning.VersionMetrics;
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionArrayTest {
+
+    @Test
+    public void testAddAndGet() {
+	VersionArray array = new VersionArray(1);
+	assertTrue(array.isEmpty());
+	array.add(Version.valueOf("1.2.3-alpha+build"));
+	array.add(Version.valueOf("4.5.6"));
+	assertEquals(2, array.size());
+	assertEquals(1, array.getMajor(0));
+	assertEquals(2, array.getMinor(0));
+	assertEquals(3, array.getPatch(0));
+	assertEquals("alpha", array.getPreReleaseInformation(0));
+	assertEquals("build", array.getBuildMetadata(0));
+	assertNull(array.getPreReleaseInformation(1));
+	assertEquals(Version.valueOf("1.2.3-alpha+build"), array.get(0));
+	assertEquals(Version.valueOf("4.5.6"), array.asList().get(1));
+	assertThrows(IndexOutOfBoundsException.class, () -> array.get(2));
+    }
+
+    @Test
+    public void testNegativeVersionParts() {
+	assertThrows(IllegalArgumentException.class, () -> new VersionArray().add(new Version()));
+    }
+
+    @Test
+    public void testSortSpecificationExample() {
+	List<Version> versions = Arrays.asList(Version.valueOf("1.0.0"), Version.valueOf("1.0.0-rc.1"),
+		Version.valueOf("1.0.0-beta.11"), Version.valueOf("1.0.0-beta.2"), Version.valueOf("1.0.0-beta"),
+		Version.valueOf("1.0.0-alpha.beta"), Version.valueOf("1.0.0-alpha.1"), Version.valueOf("1.0.0-alpha"));
+	VersionArray array = new VersionArray(versions);
+	array.sort();
+	Version[] expected = versions.toArray(new Version[versions.size()]);
+	Arrays.sort(expected);
+	assertArrayEquals(expected, array.toArray());
+    }
+
+    @Test
+    public void testSortIsStableAndEqualToCompareTo() {
+	Random random = new Random(42);
+	String[] preReleases = { null, null, "alpha", "alpha.1", "beta", "rc.1", "rc.2", "0", "SNAPSHOT" };
+	String[] builds = { null, "b1", "b2", "b3" };
+	List<Version> versions = new ArrayList<>();
+	for (int i = 0; i < 10000; i++) {
+	    int major = random.nextInt(4) == 0 ? random.nextInt(Integer.MAX_VALUE) : random.nextInt(5);
+	    versions.add(new Version(major, random.nextInt(70000), random.nextInt(3),
+		    preReleases[random.nextInt(preReleases.length)], builds[random.nextInt(builds.length)]));
+	}
+	VersionArray array = new VersionArray(versions);
+	array.sort();
+	Version[] expected = versions.toArray(new Version[versions.size()]);
+	Arrays.sort(expected);
+	assertArrayEquals(expected, array.toArray());
+    }
+}
@@ -0,0 +1,98 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionCacheTest {
+
+    @Test
+    public void testIllegalCapacity() {
+	assertThrows(IllegalArgumentException.class, () -> new VersionCache(0));
+    }
+
+    @Test
+    public void testIllegalVersionString() {
+	VersionCache cache = new VersionCache();
+	assertThrows(IllegalArgumentException.class, () -> cache.intern("1.0"));
+	assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCanonicalInstances() {
+	VersionCache cache = new VersionCache();
+	Version version = cache.intern("1.2.3-SNAPSHOT");
+	assertEquals(Version.valueOf("1.2.3-SNAPSHOT"), version);
+	assertSame(version, cache.intern("1.2.3-SNAPSHOT"));
+	assertSame(version, cache.intern(new Version(1, 2, 3, "SNAPSHOT")));
+	assertEquals(1, cache.getMissCount());
+	assertEquals(2, cache.getHitCount());
+	assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testInternVersion() {
+	VersionCache cache = new VersionCache();
+	Version version = new Version(1, 0, 0);
+	assertSame(version, cache.intern(version));
+	assertSame(version, cache.intern("1.0.0"));
+    }
+
+    @Test
+    public void testDefaultCache() {
+	assertSame(Version.intern("3.2.1"), Version.intern("3.2.1"));
+    }
+
+    @Test
+    public void testEviction() {
+	VersionCache cache = new VersionCache(16);
+	assertEquals(16, cache.getCapacity());
+	for (int i = 0; i < 1000; i++) {
+	    cache.intern(new Version(1, 0, i));
+	    assertTrue(cache.size() <= cache.getCapacity());
+	}
+	Version version = cache.intern("1.0.999");
+	assertSame(version, cache.intern("1.0.999"));
+	cache.clear();
+	assertEquals(0, cache.size());
+	assertNotSame(version, cache.intern("1.0.999"));
+    }
+
+    @Test
+    public void testConcurrentInterning() throws InterruptedException, ExecutionException {
+	VersionCache cache = new VersionCache(1024);
+	ExecutorService executor = Executors.newFixedThreadPool(4);
+	try {
+	    List<Future<Version[]>> futures = new ArrayList<>();
+	    for (int thread = 0; thread < 4; thread++) {
+		futures.add(executor.submit(() -> {
+		    Version[] versions = new Version[32];
+		    for (int i = 0; i < versions.length; i++) {
+			versions[i] = cache.intern("2.0." + i);
+		    }
+		    return versions;
+		}));
+	    }
+	    Version[] first = futures.get(0).get();
+	    for (Future<Version[]> future : futures) {
+		Version[] versions = future.get();
+		for (int i = 0; i < versions.length; i++) {
+		    assertSame(first[i], versions[i]);
+		}
+	    }
+	} finally {
+	    executor.shutdown();
+	}
+    }
+}
@@ -0,0 +1,172 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamConstants;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionCodecTest {
+
+    private static final Version[] VERSIONS = { new Version(0, 0, 0), new Version(1, 2, 3),
+	    Version.valueOf("1.0.0-alpha.1"), Version.valueOf("1.0.0+build.5"),
+	    Version.valueOf("2147483647.128.16384-rc.1+exp.sha.5114f85"), new Version() };
+
+    private static final VersionRange[] VERSION_RANGES = {
+	    new VersionRange(new Version(1, 0, 0), true, new Version(2, 0, 0), false),
+	    new VersionRange(new Version(1, 0, 0), false, null, false),
+	    new VersionRange(null, false, Version.valueOf("1.0.0-beta"), true), new VersionRange() };
+
+    @Test
+    public void testByteBufferRoundTrip() {
+	for (Version version : VERSIONS) {
+	    ByteBuffer buffer = ByteBuffer.allocate(VersionCodec.getEncodedSize(version));
+	    VersionCodec.write(version, buffer);
+	    assertEquals(0, buffer.remaining());
+	    buffer.flip();
+	    assertEquals(version, VersionCodec.readVersion(buffer));
+	}
+	for (VersionRange versionRange : VERSION_RANGES) {
+	    ByteBuffer buffer = ByteBuffer.allocateDirect(VersionCodec.getEncodedSize(versionRange));
+	    VersionCodec.write(versionRange, buffer);
+	    assertEquals(0, buffer.remaining());
+	    buffer.flip();
+	    assertEquals(versionRange, VersionCodec.readVersionRange(buffer));
+	}
+    }
+
+    @Test
+    public void testDataOutputRoundTrip() throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	try (DataOutputStream output = new DataOutputStream(bytes)) {
+	    for (Version version : VERSIONS) {
+		VersionCodec.write(version, output);
+	    }
+	    for (VersionRange versionRange : VERSION_RANGES) {
+		VersionCodec.write(versionRange, output);
+	    }
+	}
+	try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+	    for (Version version : VERSIONS) {
+		assertEquals(version, VersionCodec.readVersion(input));
+	    }
+	    for (VersionRange versionRange : VERSION_RANGES) {
+		assertEquals(versionRange, VersionCodec.readVersionRange(input));
+	    }
+	}
+    }
+
+    @Test
+    public void testCompactEncoding() {
+	assertEquals(5, VersionCodec.encode(new Version(1, 2, 3)).length - 1);
+	VersionRange versionRange = new VersionRange(new Version(1, 0, 0), true, new Version(2, 0, 0), false);
+	assertEquals(11, VersionCodec.encode(versionRange).length - 1);
+    }
+
+    @Test
+    public void testBulkRoundTrip() {
+	assertArrayEquals(VERSIONS, VersionCodec.decodeVersions(VersionCodec.encode(VERSIONS)));
+	assertArrayEquals(VERSION_RANGES, VersionCodec.decodeVersionRanges(VersionCodec.encode(VERSION_RANGES)));
+	assertEquals(0, VersionCodec.decodeVersions(VersionCodec.encode(new Version[0])).length);
+    }
+
+    @Test
+    public void testInvalidData() {
+	byte[] bytes = VersionCodec.encode(Version.valueOf("1.0.0-alpha"));
+	bytes[bytes.length - 2] = '#';
+	assertThrows(IllegalArgumentException.class, () -> VersionCodec.decodeVersions(bytes));
+	assertThrows(IllegalArgumentException.class, () -> VersionCodec.decodeVersions(new byte[] { 100 }));
+	assertThrows(IllegalArgumentException.class, () -> VersionCodec.decodeVersionRanges(new byte[] { 1, 0x10 }));
+    }
+
+    @Test
+    public void testForgedStringLength() {
+	byte[] forged = { 1, 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 };
+	assertThrows(IllegalArgumentException.class,
+		() -> VersionCodec.readVersion(new DataInputStream(new ByteArrayInputStream(forged))));
+	byte[] tooLong = new byte[VersionCodec.MAXIMUM_STRING_LENGTH + 8];
+	tooLong[0] = 1;
+	tooLong[3] = (byte) 0x81;
+	tooLong[4] = (byte) ((VersionCodec.MAXIMUM_STRING_LENGTH + 1) >>> 7);
+	assertThrows(IllegalArgumentException.class, () -> VersionCodec.readVersion(ByteBuffer.wrap(tooLong)));
+	Version version = new Version(1, 0, 0, "a".repeat(VersionCodec.MAXIMUM_STRING_LENGTH + 1));
+	assertThrows(IllegalArgumentException.class,
+		() -> VersionCodec.write(version, new DataOutputStream(new ByteArrayOutputStream())));
+    }
+
+    @Test
+    public void testJavaSerialization() throws IOException, ClassNotFoundException {
+	Version version = Version.valueOf("1.2.3-rc.1+build");
+	VersionRange versionRange = new VersionRange(version, true, null, false);
+	Object[] objects = { version, versionRange, new Version(), new VersionRange() };
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+	    output.writeObject(objects);
+	}
+	try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+	    Object[] read = (Object[]) input.readObject();
+	    assertArrayEquals(objects, read);
+	    assertTrue(read[0] instanceof Version);
+	    assertEquals(0, ((Version) read[0]).compareTo(version));
+	}
+    }
+
+    @Test
+    public void testJavaSerializationVerifiesData() throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+	    output.writeObject(Version.valueOf("1.0.0-alpha"));
+	}
+	byte[] data = bytes.toByteArray();
+	for (int index = 0; index < data.length - 4; index++) {
+	    if ((data[index] == 'a') && (data[index + 1] == 'l') && (data[index + 2] == 'p')) {
+		data[index] = '#';
+	    }
+	}
+	assertThrows(InvalidObjectException.class,
+		() -> new ObjectInputStream(new ByteArrayInputStream(data)).readObject());
+    }
+
+    @Test
+    public void testDefaultSerializedFormIsRejected() throws IOException {
+	for (Class<?> type : new Class<?>[] { Version.class, VersionRange.class }) {
+	    byte[] data = defaultSerializedForm(type);
+	    assertThrows(InvalidObjectException.class,
+		    () -> new ObjectInputStream(new ByteArrayInputStream(data)).readObject());
+	}
+    }
+
+    /**
+     * Creates a stream in the default serialized form of a class without any
+     * field values, which does not go through the {@link SerializationProxy}.
+     */
+    private static byte[] defaultSerializedForm(Class<?> type) throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	try (DataOutputStream output = new DataOutputStream(bytes)) {
+	    output.writeShort(ObjectStreamConstants.STREAM_MAGIC);
+	    output.writeShort(ObjectStreamConstants.STREAM_VERSION);
+	    output.writeByte(ObjectStreamConstants.TC_OBJECT);
+	    output.writeByte(ObjectStreamConstants.TC_CLASSDESC);
+	    output.writeUTF(type.getName());
+	    output.writeLong(ObjectStreamClass.lookup(type).getSerialVersionUID());
+	    output.writeByte(ObjectStreamConstants.SC_SERIALIZABLE);
+	    output.writeShort(0);
+	    output.writeByte(ObjectStreamConstants.TC_ENDBLOCKDATA);
+	    output.writeByte(ObjectStreamConstants.TC_NULL);
+	}
+	return bytes.toByteArray();
+    }
+}
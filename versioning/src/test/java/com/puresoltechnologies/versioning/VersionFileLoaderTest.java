@@ -0,0 +1,86 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionFileLoaderTest {
+
+    @Test
+    public void testSmallFile() throws IOException {
+	Path file = Files.createTempFile("versions", ".txt");
+	try {
+	    Files.write(file, "1.0.0\r\n\n1.0\n2.0.0-rc.1+b\nfoo\n3.0.0".getBytes(StandardCharsets.US_ASCII));
+	    VersionFileLoader.Result result = VersionFileLoader.load(file);
+	    assertArrayEquals(new Version[] { new Version(1, 0, 0), Version.valueOf("2.0.0-rc.1+b"),
+		    new Version(3, 0, 0) }, result.getVersions());
+	    assertEquals(2, result.getInvalidLines().size());
+	    VersionFileLoader.InvalidLine invalidLine = result.getInvalidLines().get(0);
+	    assertEquals(8, invalidLine.getOffset());
+	    assertEquals(3, invalidLine.getLineNumber());
+	    assertEquals("1.0", invalidLine.getText());
+	    invalidLine = result.getInvalidLines().get(1);
+	    assertEquals(25, invalidLine.getOffset());
+	    assertEquals(5, invalidLine.getLineNumber());
+	    assertEquals("foo", invalidLine.getText());
+	} finally {
+	    Files.delete(file);
+	}
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+	Path file = Files.createTempFile("versions", ".txt");
+	try {
+	    VersionFileLoader.Result result = VersionFileLoader.load(file);
+	    assertEquals(0, result.getVersions().length);
+	    assertEquals(0, result.getInvalidLines().size());
+	} finally {
+	    Files.delete(file);
+	}
+    }
+
+    @Test
+    public void testLargeFileInParallel() throws IOException {
+	Path file = Files.createTempFile("versions", ".txt");
+	ForkJoinPool pool = new ForkJoinPool(4);
+	try {
+	    List<Version> expected = new ArrayList<>();
+	    List<Long> invalidLineNumbers = new ArrayList<>();
+	    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+		for (int line = 1; line <= 500000; line++) {
+		    if ((line % 99991) == 0) {
+			writer.write("invalid-" + line + "\n");
+			invalidLineNumbers.add((long) line);
+		    } else {
+			String preRelease = (line % 3) == 0 ? "rc." + line : null;
+			Version version = new Version(line % 7, line % 1000, line, preRelease);
+			writer.write(version + "\n");
+			expected.add(version);
+		    }
+		}
+	    }
+	    VersionFileLoader.Result result = VersionFileLoader.load(file, pool);
+	    assertArrayEquals(expected.toArray(), result.getVersions());
+	    List<Long> lineNumbers = new ArrayList<>();
+	    for (VersionFileLoader.InvalidLine invalidLine : result.getInvalidLines()) {
+		lineNumbers.add(invalidLine.getLineNumber());
+		assertEquals("invalid-" + invalidLine.getLineNumber(), invalidLine.getText());
+	    }
+	    assertEquals(invalidLineNumbers, lineNumbers);
+	} finally {
+	    pool.shutdown();
+	    Files.delete(file);
+	}
+    }
+}
@@ -0,0 +1,138 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionIndexFileTest {
+
+    @Test
+    public void testWriteAndQuery() throws IOException {
+	Map<String, List<Version>> packages = new HashMap<>();
+	packages.put("lib", Arrays.asList(Version.valueOf("2.0.0"), Version.valueOf("1.0.0+build.7"),
+		Version.valueOf("1.5.0-rc.1"), Version.valueOf("2.0.0")));
+	packages.put("lüb", Arrays.asList(Version.valueOf("0.1.0")));
+	packages.put("empty", Collections.<Version>emptyList());
+	Path file = Files.createTempFile("versions", ".vidx");
+	try {
+	    VersionIndexFile.write(file, packages);
+	    VersionIndexFile index = VersionIndexFile.open(file);
+	    assertEquals(3, index.getPackageCount());
+	    assertEquals(4, index.getVersionCount());
+	    assertEquals(Arrays.asList("empty", "lib", "lüb"), index.getPackageNames());
+	    assertEquals(Arrays.asList(Version.valueOf("1.0.0+build.7"), Version.valueOf("1.5.0-rc.1"),
+		    Version.valueOf("2.0.0")), index.getVersions("lib"));
+	    assertEquals(Arrays.asList(Version.valueOf("0.1.0")), index.getVersions("lüb"));
+	    assertTrue(index.contains("empty"));
+	    assertTrue(index.getVersions("empty").isEmpty());
+	    assertFalse(index.contains("unknown"));
+	    assertEquals(Optional.of(Version.valueOf("2.0.0")), index.getLatest("lib"));
+	    assertEquals(Optional.of(Version.valueOf("1.5.0-rc.1")),
+		    index.getHighestIn("lib", VersionRange.valueOf("[1.0.0, 2.0.0)")));
+	    assertFalse(index.getHighestIn("lib", VersionRange.valueOf("[3.0.0, )")).isPresent());
+	    assertFalse(index.getHighestIn("lib", VersionRange.valueOf("[1.1.0, 1.2.0)")).isPresent());
+	} finally {
+	    Files.delete(file);
+	}
+    }
+
+    @Test
+    public void testManyPackagesWithCommonPrefixes() throws IOException {
+	Map<String, List<Version>> packages = new HashMap<>();
+	for (int i = 0; i < 1000; i++) {
+	    String name = "com.example.package" + (i % 10) + ".module" + i;
+	    packages.put(name, Arrays.asList(new Version(1, i, 0), new Version(i, 0, 0)));
+	}
+	packages.put("a", Arrays.asList(new Version(1, 0, 0)));
+	packages.put("com.example.package1", Arrays.asList(new Version(1, 0, 0)));
+	Path file = Files.createTempFile("versions", ".vidx");
+	try {
+	    VersionIndexFile.write(file, packages);
+	    VersionIndexFile index = VersionIndexFile.open(file);
+	    assertEquals(new ArrayList<>(new TreeSet<>(packages.keySet())), index.getPackageNames());
+	    for (Map.Entry<String, List<Version>> entry : packages.entrySet()) {
+		List<Version> expected = new ArrayList<>(new TreeSet<>(entry.getValue()));
+		assertEquals(expected, index.getVersions(entry.getKey()), entry.getKey());
+	    }
+	    assertFalse(index.contains("com.example.package"));
+	    assertFalse(index.contains("com.example.package1.module"));
+	    assertFalse(index.contains("z"));
+	} finally {
+	    Files.delete(file);
+	}
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+	Path file = Files.createTempFile("versions", ".vidx");
+	try {
+	    Files.write(file, "1.0.0\n".getBytes(StandardCharsets.US_ASCII));
+	    assertThrows(IllegalArgumentException.class, () -> VersionIndexFile.open(file));
+	} finally {
+	    Files.delete(file);
+	}
+    }
+
+    @Test
+    public void testDuplicatesWithBuildMetadata() throws IOException {
+	Path file = Files.createTempFile("versions", ".vidx");
+	try {
+	    VersionIndexFile.write(file, Collections.singletonMap("lib",
+		    Arrays.asList(Version.valueOf("1.0.0+a"), Version.valueOf("1.0.0+b"), Version.valueOf("1.0.0+a"))));
+	    assertEquals(Arrays.asList(Version.valueOf("1.0.0+a"), Version.valueOf("1.0.0+b")),
+		    VersionIndexFile.open(file).getVersions("lib"));
+	} finally {
+	    Files.delete(file);
+	}
+    }
+
+    @Test
+    public void testCorruptFile() throws IOException {
+	Path file = Files.createTempFile("versions", ".vidx");
+	try {
+	    VersionIndexFile.write(file, Collections.singletonMap("lib", Arrays.asList(Version.valueOf("1.0.0-rc.1"))));
+	    byte[] bytes = Files.readAllBytes(file);
+	    // the pre-release information is the last string in the heap
+	    Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+	    VersionIndexFile truncated = VersionIndexFile.open(file);
+	    assertEquals(Arrays.asList("lib"), truncated.getPackageNames());
+	    assertThrows(IllegalArgumentException.class, () -> truncated.getVersions("lib").get(0));
+	    int heapOffset = ByteBuffer.wrap(bytes).getInt(32);
+	    bytes[heapOffset] = (byte) 0xFF;
+	    Files.write(file, bytes);
+	    VersionIndexFile corrupt = VersionIndexFile.open(file);
+	    assertThrows(IllegalArgumentException.class, () -> corrupt.getPackageNames());
+	    assertThrows(IllegalArgumentException.class, () -> corrupt.contains("lib"));
+	    bytes[heapOffset] = 0;
+	    // the heap holds "lib" followed by "rc.1"
+	    bytes[heapOffset + 11] = '!';
+	    Files.write(file, bytes);
+	    VersionIndexFile badPreRelease = VersionIndexFile.open(file);
+	    assertThrows(IllegalArgumentException.class, () -> badPreRelease.getVersions("lib").get(0));
+	    bytes[heapOffset + 11] = 'r';
+	    bytes[ByteBuffer.wrap(bytes).getInt(28)] = (byte) 0xFF;
+	    Files.write(file, bytes);
+	    VersionIndexFile negative = VersionIndexFile.open(file);
+	    assertThrows(IllegalArgumentException.class, () -> negative.getVersions("lib").get(0));
+	} finally {
+	    Files.delete(file);
+	}
+    }
+}
@@ -0,0 +1,71 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionIndexTest {
+
+    private final VersionIndex index = new VersionIndex(Version.valueOf("2.0.0"), Version.valueOf("1.0.0"),
+	    Version.valueOf("1.5.0-rc.1"), Version.valueOf("1.5.0"), Version.valueOf("0.9.0"),
+	    Version.valueOf("2.1.0"));
+
+    @Test
+    public void testVersionsAreSorted() {
+	assertEquals(Arrays.asList(Version.valueOf("0.9.0"), Version.valueOf("1.0.0"), Version.valueOf("1.5.0-rc.1"),
+		Version.valueOf("1.5.0"), Version.valueOf("2.0.0"), Version.valueOf("2.1.0")), index.getVersions());
+	assertEquals(6, index.size());
+    }
+
+    @Test
+    public void testQueries() {
+	VersionRange range = VersionRange.valueOf("[1.0.0, 2.0.0)");
+	assertEquals(Optional.of(Version.valueOf("1.5.0")), index.highestIn(range));
+	assertEquals(Optional.of(Version.valueOf("1.0.0")), index.lowestIn(range));
+	assertEquals(3, index.countIn(range));
+	assertEquals(Arrays.asList(Version.valueOf("1.0.0"), Version.valueOf("1.5.0-rc.1"), Version.valueOf("1.5.0")),
+		index.sliceIn(range));
+	assertEquals(Optional.of(Version.valueOf("2.1.0")), index.highestIn(VersionRange.ALL));
+	assertEquals(Optional.of(Version.valueOf("2.0.0")), index.highestIn(VersionRange.valueOf("(1.0.0, 2.0.0]")));
+    }
+
+    @Test
+    public void testNoMatch() {
+	VersionRange range = VersionRange.valueOf("[3.0.0, )");
+	assertFalse(index.highestIn(range).isPresent());
+	assertFalse(index.lowestIn(range).isPresent());
+	assertEquals(0, index.countIn(range));
+	assertEquals(0, index.sliceIn(range).size());
+	assertEquals(0, index.countIn(VersionRange.valueOf("[2.0.0, 1.0.0]")));
+    }
+
+    @Test
+    public void testAgainstLinearScan() {
+	Random random = new Random(3);
+	List<Version> versions = new ArrayList<>();
+	for (int i = 0; i < 500; i++) {
+	    versions.add(new Version(random.nextInt(5), random.nextInt(5), random.nextInt(5)));
+	}
+	VersionIndex index = new VersionIndex(versions);
+	for (int i = 0; i < 500; i++) {
+	    Version minimum = new Version(random.nextInt(5), random.nextInt(5), random.nextInt(5));
+	    Version maximum = new Version(random.nextInt(5), random.nextInt(5), random.nextInt(5));
+	    VersionRange range = new VersionRange(minimum, random.nextBoolean(), maximum, random.nextBoolean());
+	    List<Version> expected = new ArrayList<>();
+	    for (Version version : index.getVersions()) {
+		if (range.includes(version)) {
+		    expected.add(version);
+		}
+	    }
+	    assertEquals(expected, index.sliceIn(range));
+	    assertEquals(expected.size(), index.countIn(range));
+	}
+    }
+}
@@ -3,6 +3,14 @@ package com.puresoltechnologies.versioning;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Test;
 
 public class VersionMathTest {
@@ -64,4 +72,52 @@ public class VersionMathTest {
 	Version minimum = VersionMath.max(version1, version2, version3);
 	assertEquals(version1, minimum);
     }
+
+    @Test
+    public void testIterableAndSpliterator() {
+	List<Version> versions = Arrays.asList(new Version(1, 0, 0), new Version(0, 1, 0), new Version(2, 0, 0, "rc.1"),
+		new Version(1, 5, 0));
+	assertEquals(new Version(0, 1, 0), VersionMath.min(versions));
+	assertEquals(new Version(2, 0, 0, "rc.1"), VersionMath.max(versions));
+	assertEquals(new Version(0, 1, 0), VersionMath.min(versions.spliterator()));
+	assertEquals(new Version(2, 0, 0, "rc.1"), VersionMath.max(versions.spliterator()));
+	assertThrows(IllegalArgumentException.class, () -> VersionMath.min(Collections.<Version>emptyList()));
+	assertThrows(IllegalArgumentException.class,
+		() -> VersionMath.max(Collections.<Version>emptyList().spliterator()));
+    }
+
+    @Test
+    public void testCollectors() {
+	List<Version> versions = randomVersions(100000);
+	Version[] array = versions.toArray(new Version[0]);
+	Version minimum = VersionMath.min(array);
+	Version maximum = VersionMath.max(array);
+	assertEquals(Optional.of(minimum), versions.parallelStream().collect(VersionMath.toMin()));
+	assertEquals(Optional.of(maximum), versions.parallelStream().collect(VersionMath.toMax()));
+	assertEquals(Optional.of(new VersionRange(minimum, true, maximum, true)),
+		versions.parallelStream().collect(VersionMath.toMinMax()));
+	assertEquals(Optional.empty(), Stream.<Version>empty().collect(VersionMath.toMax()));
+	assertEquals(Optional.empty(), Stream.<Version>empty().collect(VersionMath.toMinMax()));
+	assertEquals(minimum, VersionMath.parallelMin(array));
+	assertEquals(maximum, VersionMath.parallelMax(array));
+    }
+
+    @Test
+    public void testTopK() {
+	List<Version> versions = randomVersions(10000);
+	List<Version> sorted = new ArrayList<>(versions);
+	Collections.sort(sorted, Collections.reverseOrder());
+	assertEquals(sorted.subList(0, 10), versions.parallelStream().collect(VersionMath.topK(10)));
+	assertEquals(sorted, versions.stream().collect(VersionMath.topK(20000)));
+	assertThrows(IllegalArgumentException.class, () -> VersionMath.topK(0));
+    }
+
+    private static List<Version> randomVersions(int count) {
+	Random random = new Random(count);
+	List<Version> versions = new ArrayList<>(count);
+	for (int i = 0; i < count; i++) {
+	    versions.add(new Version(random.nextInt(1000), random.nextInt(1000), random.nextInt(1000)));
+	}
+	return versions;
+    }
 }
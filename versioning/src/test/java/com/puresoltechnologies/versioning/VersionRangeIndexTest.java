@@ -0,0 +1,85 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionRangeIndexTest {
+
+    @Test
+    public void testFindIncludingRespectsBoundaries() {
+	VersionRangeIndex<String> index = new VersionRangeIndex<>();
+	index.add(VersionRange.valueOf("[1.0.0, 2.0.0)"), "a");
+	index.add(VersionRange.valueOf("(1.0.0, 2.0.0]"), "b");
+	index.add(VersionRange.valueOf("[2.0.0, )"), "c");
+	index.add(VersionRange.valueOf("(, 1.0.0]"), "d");
+	assertEquals(4, index.size());
+	assertEquals(Arrays.asList("d"), index.findIncluding(new Version(0, 5, 0)));
+	assertEquals(Arrays.asList("d", "a"), index.findIncluding(new Version(1, 0, 0)));
+	assertEquals(Arrays.asList("a", "b"), index.findIncluding(new Version(1, 5, 0)));
+	assertEquals(Arrays.asList("b", "c"), index.findIncluding(new Version(2, 0, 0)));
+	assertEquals(Arrays.asList("c"), index.findIncluding(new Version(3, 0, 0)));
+    }
+
+    @Test
+    public void testRemove() {
+	VersionRangeIndex<String> index = new VersionRangeIndex<>();
+	VersionRange range = VersionRange.valueOf("[1.0.0, 2.0.0)");
+	index.add(range, "a");
+	index.add(range, "b");
+	assertFalse(index.remove(range, "c"));
+	assertTrue(index.remove(range, "a"));
+	assertEquals(Arrays.asList("b"), index.findIncluding(new Version(1, 0, 0)));
+	assertTrue(index.remove(range, "b"));
+	assertTrue(index.isEmpty());
+	assertTrue(index.findIncluding(new Version(1, 0, 0)).isEmpty());
+    }
+
+    @Test
+    public void testAgainstLinearScan() {
+	Random random = new Random(42);
+	VersionRangeIndex<Integer> index = new VersionRangeIndex<>();
+	List<VersionRange> ranges = new ArrayList<>();
+	for (int i = 0; i < 2000; i++) {
+	    Version minimum = random.nextInt(10) == 0 ? null : randomVersion(random);
+	    Version maximum = random.nextInt(10) == 0 ? null : randomVersion(random);
+	    if ((minimum != null) && (maximum != null) && (minimum.compareTo(maximum) > 0)) {
+		Version swap = minimum;
+		minimum = maximum;
+		maximum = swap;
+	    }
+	    VersionRange range = new VersionRange(minimum, (minimum != null) && random.nextBoolean(), maximum,
+		    (maximum != null) && random.nextBoolean());
+	    ranges.add(range);
+	    index.add(range, i);
+	}
+	for (int i = 0; i < 2000; i += 3) {
+	    assertTrue(index.remove(ranges.get(i), i));
+	}
+	assertEquals(2000 - 667, index.size());
+	for (int i = 0; i < 500; i++) {
+	    Version version = randomVersion(random);
+	    List<Integer> expected = new ArrayList<>();
+	    for (int r = 0; r < ranges.size(); r++) {
+		if ((r % 3 != 0) && ranges.get(r).includes(version)) {
+		    expected.add(r);
+		}
+	    }
+	    List<Integer> actual = index.findIncluding(version);
+	    Collections.sort(actual);
+	    assertEquals(expected, actual);
+	}
+    }
+
+    private static Version randomVersion(Random random) {
+	return new Version(random.nextInt(4), random.nextInt(4), random.nextInt(4));
+    }
+}
@@ -0,0 +1,101 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionRangeSetTest {
+
+    @Test
+    public void testNormalization() {
+	VersionRangeSet set = VersionRangeSet.of(VersionRange.valueOf("[2.0.0, 3.0.0)"),
+		VersionRange.valueOf("[1.0.0, 1.5.0)"), VersionRange.valueOf("[1.2.0, 1.6.0]"),
+		VersionRange.valueOf("(1.6.0, 1.7.0)"), VersionRange.valueOf("(5.0.0, 4.0.0)"));
+	assertEquals("[1.0.0, 1.7.0) || [2.0.0, 3.0.0)", set.toString());
+	assertEquals(2, set.getRanges().size());
+    }
+
+    @Test
+    public void testValueOf() {
+	VersionRangeSet set = VersionRangeSet.valueOf("[1.0.0,1.5.0) || ^2.0.0");
+	assertEquals("[1.0.0, 1.5.0) || [2.0.0, 3.0.0)", set.toString());
+	assertTrue(set.includes(new Version(1, 4, 9)));
+	assertFalse(set.includes(new Version(1, 5, 0)));
+	assertTrue(set.includes(new Version(2, 0, 0)));
+	assertFalse(set.includes(new Version(3, 0, 0)));
+	assertFalse(set.includes(new Version(0, 1, 0)));
+	assertEquals(set, VersionRangeSet.valueOf(set.toString()));
+	assertEquals(VersionRangeSet.EMPTY, VersionRangeSet.valueOf(VersionRangeSet.EMPTY.toString()));
+    }
+
+    @Test
+    public void testComplement() {
+	assertEquals(VersionRangeSet.ALL, VersionRangeSet.EMPTY.complement());
+	assertEquals(VersionRangeSet.EMPTY, VersionRangeSet.ALL.complement());
+	VersionRangeSet set = VersionRangeSet.valueOf("[1.0.0, 1.5.0) || (2.0.0, 3.0.0]");
+	assertEquals("(0.0.0, 1.0.0) || [1.5.0, 2.0.0] || (3.0.0, )", set.complement().toString());
+	assertEquals(set, set.complement().complement());
+    }
+
+    @Test
+    public void testAgainstBruteForce() {
+	Random random = new Random(7);
+	List<Version> versions = new ArrayList<>();
+	for (int major = 0; major < 4; major++) {
+	    for (int minor = 0; minor < 4; minor++) {
+		for (int patch = 0; patch < 4; patch++) {
+		    versions.add(new Version(major, minor, patch));
+		}
+	    }
+	}
+	for (int i = 0; i < 200; i++) {
+	    VersionRange[] a = randomRanges(random);
+	    VersionRange[] b = randomRanges(random);
+	    VersionRangeSet setA = VersionRangeSet.of(a);
+	    VersionRangeSet setB = VersionRangeSet.of(b);
+	    VersionRangeSet union = setA.union(setB);
+	    VersionRangeSet intersection = setA.intersection(setB);
+	    VersionRangeSet complement = setA.complement();
+	    for (Version version : versions) {
+		boolean inA = includes(a, version);
+		boolean inB = includes(b, version);
+		assertEquals(inA, setA.includes(version));
+		assertEquals(inA || inB, union.includes(version));
+		assertEquals(inA && inB, intersection.includes(version));
+		if (version.compareTo(new Version(0, 0, 0)) > 0) {
+		    assertEquals(!inA, complement.includes(version));
+		}
+	    }
+	}
+    }
+
+    private static boolean includes(VersionRange[] ranges, Version version) {
+	for (VersionRange range : ranges) {
+	    if (range.includes(version)) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    private static VersionRange[] randomRanges(Random random) {
+	VersionRange[] ranges = new VersionRange[random.nextInt(5)];
+	for (int index = 0; index < ranges.length; index++) {
+	    Version minimum = random.nextInt(8) == 0 ? null : randomVersion(random);
+	    Version maximum = random.nextInt(8) == 0 ? null : randomVersion(random);
+	    ranges[index] = new VersionRange(minimum, (minimum != null) && random.nextBoolean(), maximum,
+		    (maximum != null) && random.nextBoolean());
+	}
+	return ranges;
+    }
+
+    private static Version randomVersion(Random random) {
+	return new Version(random.nextInt(4), random.nextInt(4), random.nextInt(4));
+    }
+}
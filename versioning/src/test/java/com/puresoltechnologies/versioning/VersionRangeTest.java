@@ -2,9 +2,14 @@ package com.puresoltechnologies.versioning;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 public class VersionRangeTest {
@@ -106,4 +111,226 @@ public class VersionRangeTest {
 	VersionRange range = new VersionRange(null, false, new Version(1, 0, 0), false);
 	assertEquals("(0.0.0, 1.0.0)", range.toString());
     }
+
+    @Test
+    public void testValueOfToStringRoundTrip() {
+	VersionRange[] ranges = { new VersionRange(new Version(1, 0, 0), true, new Version(2, 0, 0), false),
+		new VersionRange(new Version(1, 0, 0), false, new Version(2, 0, 0), true),
+		new VersionRange(new Version(1, 0, 0), true, null, false),
+		new VersionRange(null, false, new Version(1, 0, 0), true),
+		new VersionRange(new Version(1, 0, 0, "alpha.1"), true, new Version(1, 0, 0), false) };
+	for (VersionRange range : ranges) {
+	    assertEquals(range, VersionRange.valueOf(range.toString()));
+	}
+    }
+
+    @Test
+    public void testValueOfMavenIntervals() {
+	assertEquals(new VersionRange(new Version(1, 2, 3), true, new Version(1, 2, 3), true),
+		VersionRange.valueOf("[1.2.3]"));
+	assertEquals(new VersionRange(null, false, new Version(2, 0, 0), false), VersionRange.valueOf("(,2.0.0)"));
+	assertEquals(new VersionRange(new Version(1, 0, 0), true, null, false), VersionRange.valueOf(" [1.0.0,) "));
+    }
+
+    @Test
+    public void testValueOfComparators() {
+	assertEquals(new VersionRange(new Version(1, 2, 0), true, new Version(2, 0, 0), false),
+		VersionRange.valueOf(">=1.2.0 <2.0.0"));
+	assertEquals(new VersionRange(new Version(1, 2, 0), false, new Version(2, 0, 0), true),
+		VersionRange.valueOf("> 1.2.0 <= 2.0.0"));
+	assertEquals(new VersionRange(new Version(1, 2, 3), true, new Version(1, 2, 3), true),
+		VersionRange.valueOf("=1.2.3"));
+	assertEquals(new VersionRange(new Version(1, 5, 0), true, new Version(2, 0, 0), false),
+		VersionRange.valueOf(">=1.2.0 >=1.5 <3 <2.0.0"));
+	assertEquals(new VersionRange(new Version(1, 3, 0), true, new Version(1, 3, 0), false),
+		VersionRange.valueOf(">1.2 <=1.2"));
+	assertEquals(new VersionRange(null, false, null, false), VersionRange.valueOf("*"));
+    }
+
+    @Test
+    public void testValueOfCaret() {
+	assertEquals(new VersionRange(new Version(1, 2, 3), true, new Version(2, 0, 0), false),
+		VersionRange.valueOf("^1.2.3"));
+	assertEquals(new VersionRange(new Version(0, 2, 3), true, new Version(0, 3, 0), false),
+		VersionRange.valueOf("^0.2.3"));
+	assertEquals(new VersionRange(new Version(0, 0, 3), true, new Version(0, 0, 4), false),
+		VersionRange.valueOf("^0.0.3"));
+	assertEquals(new VersionRange(new Version(0, 0, 0), true, new Version(0, 1, 0), false),
+		VersionRange.valueOf("^0.0"));
+	assertEquals(new VersionRange(new Version(1, 0, 0), true, new Version(2, 0, 0), false),
+		VersionRange.valueOf("^1"));
+	assertEquals(new VersionRange(new Version(1, 2, 3, "beta.2"), true, new Version(2, 0, 0), false),
+		VersionRange.valueOf("^1.2.3-beta.2"));
+    }
+
+    @Test
+    public void testValueOfTilde() {
+	assertEquals(new VersionRange(new Version(1, 2, 3), true, new Version(1, 3, 0), false),
+		VersionRange.valueOf("~1.2.3"));
+	assertEquals(new VersionRange(new Version(1, 2, 0), true, new Version(1, 3, 0), false),
+		VersionRange.valueOf("~1.2"));
+	assertEquals(new VersionRange(new Version(1, 0, 0), true, new Version(2, 0, 0), false),
+		VersionRange.valueOf("~1"));
+    }
+
+    @Test
+    public void testValueOfXRangesAndHyphen() {
+	assertEquals(new VersionRange(new Version(1, 2, 0), true, new Version(1, 3, 0), false),
+		VersionRange.valueOf("1.2.x"));
+	assertEquals(new VersionRange(new Version(1, 0, 0), true, new Version(2, 0, 0), false),
+		VersionRange.valueOf("1.X.x"));
+	assertEquals(new VersionRange(new Version(1, 2, 3), true, new Version(2, 3, 4), true),
+		VersionRange.valueOf("1.2.3 - 2.3.4"));
+	assertEquals(new VersionRange(new Version(1, 2, 0), true, new Version(2, 4, 0), false),
+		VersionRange.valueOf("1.2 - 2.3"));
+    }
+
+    @Test
+    public void testValueOfIsCached() {
+	assertSame(VersionRange.valueOf("^4.5.6"), VersionRange.valueOf(new StringBuilder("^4.5.6")));
+    }
+
+    @Test
+    public void testValueOfIllegalRanges() {
+	String[] illegal = { "", " ", "[1.0.0", "1.0.0]", "[1.0.0, 2.0.0, 3.0.0]", "(1.0.0)", "[,1.0.0]", "[1.0.0,]",
+		"[1.0, 2.0]", ">=", "^01.2", "1.x.2", "1.2.3.4", ">=1.0.0 || <0.5.0", ">*", "a.b.c", "~1.2.3-" };
+	for (String range : illegal) {
+	    assertThrows(IllegalArgumentException.class, () -> VersionRange.valueOf(range), range);
+	}
+    }
+
+    @Test
+    public void testIsEmpty() {
+	assertTrue(VersionRange.EMPTY.isEmpty());
+	assertTrue(VersionRange.valueOf("(1.0.0, 1.0.0]").isEmpty());
+	assertTrue(VersionRange.valueOf("[2.0.0, 1.0.0]").isEmpty());
+	assertFalse(VersionRange.valueOf("[1.0.0]").isEmpty());
+	assertFalse(VersionRange.ALL.isEmpty());
+	assertFalse(new VersionRange().isEmpty());
+    }
+
+    @Test
+    public void testIntersect() {
+	VersionRange range = VersionRange.valueOf("[1.0.0, 2.0.0)");
+	VersionRange other = VersionRange.valueOf("(1.5.0, 3.0.0]");
+	VersionRange intersection = range.intersect(other);
+	assertEquals(VersionRange.valueOf("(1.5.0, 2.0.0)"), intersection);
+	assertSame(other.getMinimum(), intersection.getMinimum());
+	assertSame(range.getMaximum(), intersection.getMaximum());
+	assertSame(range, range.intersect(VersionRange.ALL));
+	assertSame(VersionRange.EMPTY, range.intersect(VersionRange.valueOf("[2.0.0, 3.0.0)")));
+	assertEquals(VersionRange.valueOf("[2.0.0]"),
+		VersionRange.valueOf("[1.0.0, 2.0.0]").intersect(VersionRange.valueOf("[2.0.0, 3.0.0)")));
+    }
+
+    @Test
+    public void testIntersectsWith() {
+	VersionRange range = VersionRange.valueOf("[1.0.0, 2.0.0)");
+	assertTrue(range.intersectsWith(VersionRange.valueOf("(1.5.0, 3.0.0]")));
+	assertTrue(range.intersectsWith(VersionRange.ALL));
+	assertFalse(range.intersectsWith(VersionRange.valueOf("[2.0.0, 3.0.0)")));
+	assertFalse(range.intersectsWith(VersionRange.EMPTY));
+	assertTrue(VersionRange.valueOf("[1.0.0, 2.0.0]").intersectsWith(VersionRange.valueOf("[2.0.0, )")));
+    }
+
+    @Test
+    public void testUnion() {
+	VersionRange range = VersionRange.valueOf("[1.0.0, 2.0.0)");
+	assertEquals(VersionRange.valueOf("[1.0.0, 3.0.0)"), range.union(VersionRange.valueOf("[2.0.0, 3.0.0)")));
+	assertEquals(VersionRange.valueOf("[1.0.0, 3.0.0)"), range.union(VersionRange.valueOf("(1.5.0, 3.0.0)")));
+	assertSame(range, range.union(VersionRange.valueOf("[1.2.0, 1.3.0]")));
+	assertSame(range, range.union(VersionRange.EMPTY));
+	assertThrows(IllegalArgumentException.class, () -> range.union(VersionRange.valueOf("(2.0.0, 3.0.0)")));
+    }
+
+    @Test
+    public void testSpan() {
+	VersionRange range = VersionRange.valueOf("[1.0.0, 2.0.0)");
+	assertEquals(VersionRange.valueOf("[1.0.0, 4.0.0]"), range.span(VersionRange.valueOf("(3.0.0, 4.0.0]")));
+	assertSame(VersionRange.ALL, VersionRange.valueOf("(, 2.0.0)").span(VersionRange.valueOf("[3.0.0, )")));
+	assertSame(VersionRange.EMPTY, VersionRange.EMPTY.span(VersionRange.valueOf("(2.0.0, 1.0.0)")));
+    }
+
+    @Test
+    public void testHashCodeAndFingerprint() {
+	VersionRange range = VersionRange.valueOf("[1.0.0, 2.0.0)");
+	VersionRange equal = new VersionRange(new Version(1, 0, 0), true, new Version(2, 0, 0), false);
+	assertEquals(range.hashCode(), equal.hashCode());
+	assertEquals(range.fingerprint(), equal.fingerprint());
+	assertEquals(range, equal);
+	VersionRange other = VersionRange.valueOf("[1.0.0, 2.0.0]");
+	assertFalse(range.equals(other));
+	assertFalse(range.fingerprint() == other.fingerprint());
+	assertFalse(new VersionRange().fingerprint() == VersionRange.ALL.fingerprint());
+    }
+
+    @Test
+    public void testCompile() {
+	Version[] boundaries = { null, new Version(0, 0, 0), new Version(1, 2, 3), Version.valueOf("1.2.3-rc.1"),
+		Version.valueOf("1.2.3-rc.2+build"), new Version(2, 0, 0), new Version(2000000, 0, 0),
+		new Version(2000000, 1, 0) };
+	Version[] versions = { new Version(), new Version(0, 0, 0), Version.valueOf("0.0.0-alpha"), new Version(1, 2, 2),
+		Version.valueOf("1.2.3-alpha"), Version.valueOf("1.2.3-rc.1"), Version.valueOf("1.2.3-rc.1+other"),
+		Version.valueOf("1.2.3-rc.2"), new Version(1, 2, 3), Version.valueOf("1.2.3+build"),
+		new Version(1, 2, 4), Version.valueOf("2.0.0-0"), new Version(2, 0, 0), new Version(3, 0, 0),
+		new Version(2000000, 0, 0), Version.valueOf("2000000.1.0-rc"), new Version(2000000, 1, 0),
+		new Version(3000000, 0, 0) };
+	for (Version minimum : boundaries) {
+	    for (Version maximum : boundaries) {
+		for (int flags = 0; flags < 4; flags++) {
+		    boolean minimumIncluded = (minimum != null) && ((flags & 1) != 0);
+		    boolean maximumIncluded = (maximum != null) && ((flags & 2) != 0);
+		    VersionRange range = new VersionRange(minimum, minimumIncluded, maximum, maximumIncluded);
+		    VersionPredicate predicate = range.compile();
+		    assertSame(predicate, range.compile());
+		    for (Version version : versions) {
+			assertEquals(range.includes(version), predicate.test(version), range + " includes " + version);
+		    }
+		}
+	    }
+	}
+	VersionRange fromZero = VersionRange.valueOf("[0.0.0, 1.0.0)");
+	assertFalse(fromZero.includes(new Version()));
+	assertFalse(fromZero.compile().test(new Version()));
+	VersionPredicate any = new VersionRange().compile();
+	for (Version version : versions) {
+	    assertTrue(any.test(version));
+	}
+    }
+
+    @Test
+    public void testIncludesAll() {
+	Random random = new Random(42);
+	Version[] versions = new Version[100000];
+	for (int index = 0; index < versions.length; index++) {
+	    String preRelease = random.nextInt(4) == 0 ? "rc." + random.nextInt(3) : null;
+	    versions[index] = new Version(random.nextInt(4), random.nextInt(3), random.nextInt(3), preRelease);
+	}
+	VersionArray array = new VersionArray(Arrays.asList(versions));
+	for (String text : new String[] { "[1.0.0, 2.0.0)", "[1.1.1-rc.1, 2.2.2-rc.1]", "(1.1.1, )", "[2.1.0-rc.2]",
+		"(0.0.0, 0.0.0)" }) {
+	    VersionRange range = VersionRange.valueOf(text);
+	    BitSet expected = new BitSet();
+	    for (int index = 0; index < versions.length; index++) {
+		if (range.includes(versions[index])) {
+		    expected.set(index);
+		}
+	    }
+	    expected.set(versions.length + 10);
+	    BitSet result = new BitSet();
+	    result.set(0, versions.length, true);
+	    result.set(versions.length + 10);
+	    range.includesAll(versions, result);
+	    assertEquals(expected, result, text);
+	    result.set(0, versions.length, true);
+	    range.includesAll(array, result);
+	    assertEquals(expected, result, text);
+	    assertEquals(expected.cardinality() - 1, range.count(versions), text);
+	    assertEquals(expected.cardinality() - 1, range.count(array), text);
+	}
+	BitSet result = new BitSet();
+	VersionRange.ALL.includesAll(new Version[] { new Version(1, 0, 0) }, result);
+	assertEquals(1, result.cardinality());
+	assertEquals(0, VersionRange.ALL.count(new Version[0]));
+    }
 }
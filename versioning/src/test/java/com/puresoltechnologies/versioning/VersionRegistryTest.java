@@ -0,0 +1,85 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class VersionRegistryTest {
+
+    @Test
+    public void testPublishAndLookup() {
+	VersionRegistry registry = new VersionRegistry();
+	registry.publish("lib", Version.valueOf("1.0.0"));
+	registry.publish("lib", Version.valueOf("0.9.0"));
+	registry.publish("lib", Version.valueOf("2.0.0-rc.1"));
+	registry.publish("lib", Version.valueOf("1.0.0"));
+	assertEquals(Arrays.asList(Version.valueOf("0.9.0"), Version.valueOf("1.0.0"), Version.valueOf("2.0.0-rc.1")),
+		registry.getVersions("lib"));
+	assertEquals(Optional.of(Version.valueOf("2.0.0-rc.1")), registry.getLatest("lib"));
+	assertEquals(Optional.of(Version.valueOf("1.0.0")), registry.getLatestStable("lib"));
+	assertEquals(Optional.of(Version.valueOf("0.9.0")),
+		registry.getHighestIn("lib", VersionRange.valueOf("[0.1.0, 1.0.0)")));
+	assertTrue(registry.getVersions("unknown").isEmpty());
+	assertFalse(registry.getLatest("unknown").isPresent());
+	registry.publish("build", Version.valueOf("1.0.0+a"));
+	registry.publish("build", Version.valueOf("1.0.0+b"));
+	registry.publish("build", Version.valueOf("1.0.0+a"));
+	assertEquals(Arrays.asList(Version.valueOf("1.0.0+a"), Version.valueOf("1.0.0+b")),
+		registry.getVersions("build"));
+    }
+
+    @Test
+    public void testLatestStableIgnoresDevelopmentVersions() {
+	VersionRegistry registry = new VersionRegistry();
+	registry.publish("lib", Version.valueOf("0.9.0"));
+	assertFalse(registry.getLatestStable("lib").isPresent());
+    }
+
+    @Test
+    public void testRemove() {
+	VersionRegistry registry = new VersionRegistry();
+	registry.publish("lib", Version.valueOf("1.0.0"));
+	assertTrue(registry.remove("lib"));
+	assertFalse(registry.remove("lib"));
+	assertTrue(registry.getPackageNames().isEmpty());
+    }
+
+    @Test
+    public void testBatchPublishIsAtomic() throws InterruptedException {
+	VersionRegistry registry = new VersionRegistry();
+	AtomicBoolean running = new AtomicBoolean(true);
+	AtomicReference<String> failure = new AtomicReference<>();
+	Thread reader = new Thread(() -> {
+	    while (running.get()) {
+		// both packages are always published together
+		int a = registry.getVersions("a").size();
+		int b = registry.getVersions("b").size();
+		if (a > b) {
+		    failure.set("a=" + a + ", b=" + b);
+		}
+	    }
+	});
+	reader.start();
+	for (int i = 1; i <= 2000; i++) {
+	    Map<String, List<Version>> batch = new HashMap<>();
+	    batch.put("a", Arrays.asList(new Version(1, 0, i)));
+	    batch.put("b", Arrays.asList(new Version(1, 0, i)));
+	    registry.publish(batch);
+	}
+	running.set(false);
+	reader.join();
+	assertEquals(null, failure.get());
+	assertEquals(2000, registry.getVersions("a").size());
+	assertEquals(Optional.of(new Version(1, 0, 2000)), registry.getLatestStable("b"));
+    }
+}
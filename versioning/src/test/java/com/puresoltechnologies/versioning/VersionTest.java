@@ -2,7 +2,17 @@ package com.puresoltechnologies.versioning;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
 
@@ -36,6 +46,25 @@ public class VersionTest {
 	assertThrows(IllegalArgumentException.class, () -> Version.valueOf("1.2.3-1.02"));
     }
 
+    @Test
+    public void testIllegalVersionStrings() {
+	String[] illegalVersions = { "", "1", "1.2", "1.2.", "1.2.3.", "1.2.3-", "1.2.3+", "1.2.3-a..b", "1.2.3+a..b",
+		"1.2.3-a.", "1.2.3+a.", "-1.2.3", "1.2.3-a#b", "1.2.3+a#b", "1.2.3-a+b+c", "a.b.c", " 1.2.3",
+		"1.2.3 ", "2147483648.0.0", "1.2.3-00", "v1.2.3" };
+	for (String illegalVersion : illegalVersions) {
+	    assertThrows(IllegalArgumentException.class, () -> Version.valueOf(illegalVersion), illegalVersion);
+	}
+    }
+
+    @Test
+    public void testLegalVersionStrings() {
+	String[] legalVersions = { "0.0.0", "2147483647.0.0", "1.2.3-0", "1.2.3-0a", "1.2.3-00a", "1.2.3--",
+		"1.2.3-a-b.c-d", "1.2.3+00", "1.2.3+-", "1.2.3-1.2.3+4.5.6", "10.20.30-rc.1+build.123" };
+	for (String legalVersion : legalVersions) {
+	    assertThat(Version.valueOf(legalVersion).toString(), equalTo(legalVersion));
+	}
+    }
+
     @Test
     public void testValueOf() {
 	Version version = Version.valueOf("1.2.3-pre+build");
@@ -118,11 +147,19 @@ public class VersionTest {
     @Test
     public void testIllegalPreReleaseInformation() {
 	assertThrows(IllegalArgumentException.class, () -> new Version(0, 0, 1, "a.2-3.1#"));
+	for (String illegal : new String[] { "a..b", "01", "a.01", "a+b", "a.", ".a" }) {
+	    assertThrows(IllegalArgumentException.class, () -> new Version(0, 0, 1, illegal), illegal);
+	}
+	assertThat(new Version(0, 0, 1, "0.a-b.01a.-").getPreReleaseInformation(), equalTo("0.a-b.01a.-"));
     }
 
     @Test
     public void testIllegalBuildMetadata() {
 	assertThrows(IllegalArgumentException.class, () -> new Version(0, 0, 1, null, "a.2-3.1#"));
+	for (String illegal : new String[] { "a..b", "a+b", "a.", ".a" }) {
+	    assertThrows(IllegalArgumentException.class, () -> new Version(0, 0, 1, null, illegal), illegal);
+	}
+	assertThat(new Version(0, 0, 1, null, "01.a-b").getBuildMetadata(), equalTo("01.a-b"));
     }
 
     @Test
@@ -209,4 +246,175 @@ public class VersionTest {
 
 	assertThat(version8.compareTo(version8), equalTo(0));
     }
+
+    @Test
+    public void testPreReleaseCompareTo() {
+	assertThat(Version.valueOf("1.0.0-2").compareTo(Version.valueOf("1.0.0-10")), equalTo(-1));
+	assertThat(Version.valueOf("1.0.0-10").compareTo(Version.valueOf("1.0.0-2")), equalTo(1));
+	assertThat(Version.valueOf("1.0.0-10").compareTo(Version.valueOf("1.0.0-a")), equalTo(-1));
+	assertThat(Version.valueOf("1.0.0-a").compareTo(Version.valueOf("1.0.0-10")), equalTo(1));
+	assertThat(Version.valueOf("1.0.0-a.1").compareTo(Version.valueOf("1.0.0-a.1+build")), equalTo(0));
+	assertThat(Version.valueOf("1.0.0-99999999999999999999").compareTo(Version.valueOf("1.0.0-3")), equalTo(1));
+	assertThat(Version.valueOf("1.0.0-99999999999999999998").compareTo(Version.valueOf("1.0.0-99999999999999999999")),
+		equalTo(-1));
+	assertThat(Version.valueOf("1.0.0-100000000000000000000").compareTo(Version.valueOf("1.0.0-99999999999999999999")),
+		equalTo(1));
+	assertThat(Version.valueOf("1.0.0-a-1").compareTo(Version.valueOf("1.0.0-1")), equalTo(1));
+    }
+
+    @Test
+    public void testSortKeyIsConsistentWithCompareTo() {
+	Version[] versions = { new Version(), new Version(0, 0, 0), Version.valueOf("0.0.0-alpha"),
+		Version.valueOf("1.0.0-alpha"),
+		Version.valueOf("1.0.0-alpha.1"), Version.valueOf("1.0.0"), Version.valueOf("1.0.0+build"),
+		Version.valueOf("1.0.1"), Version.valueOf("1.1.0-rc.1"), Version.valueOf("1.1.0"),
+		Version.valueOf("2.0.0"), new Version(1048574, 0, 0), new Version(1048575, 0, 0),
+		new Version(1048575, 1, 0), new Version(Integer.MAX_VALUE, 0, 0), new Version(1, Integer.MAX_VALUE, 0),
+		new Version(1, 2097152, 5), new Version(1, 2, Integer.MAX_VALUE), new Version(1, 2, 1048575, "a") };
+	for (Version version : versions) {
+	    assertTrue(version.sortKey() > 0);
+	    for (Version other : versions) {
+		int comparison = Integer.signum(version.compareTo(other));
+		int keyComparison = Long.compare(version.sortKey(), other.sortKey());
+		if (keyComparison != 0) {
+		    assertThat(version + " <=> " + other, keyComparison, equalTo(comparison));
+		}
+		assertThat(version + " <=> " + other, Integer.signum(other.compareTo(version)), equalTo(-comparison));
+	    }
+	}
+	assertThat(new Version(1048575, 0, 0).compareTo(new Version(Integer.MAX_VALUE, 0, 0)), equalTo(-1));
+	assertThat(new Version(1, 2, 1048575, "a").compareTo(new Version(1, 2, 1048576, "a")), equalTo(-1));
+	assertThat(new Version().compareTo(Version.valueOf("0.0.0-alpha")), equalTo(-1));
+	assertThat(Version.valueOf("0.0.0-alpha").compareTo(new Version()), equalTo(1));
+    }
+
+    @Test
+    public void testValueOfCharSequenceRegion() {
+	StringBuilder builder = new StringBuilder("version=1.2.3-rc.1+build;");
+	assertThat(Version.valueOf(builder, 8, 24), equalTo(Version.valueOf("1.2.3-rc.1+build")));
+	assertThat(Version.valueOf(CharBuffer.wrap("x2.0.0x"), 1, 6), equalTo(new Version(2, 0, 0)));
+	assertThrows(IllegalArgumentException.class, () -> Version.valueOf(builder, 7, 24));
+	assertThrows(IndexOutOfBoundsException.class, () -> Version.valueOf(builder, 8, 100));
+    }
+
+    @Test
+    public void testValueOfBytes() {
+	byte[] bytes = "a=1.2.3-alpha\nb=4.5.6+x\n".getBytes(StandardCharsets.US_ASCII);
+	assertThat(Version.valueOf(bytes, 2, 11), equalTo(Version.valueOf("1.2.3-alpha")));
+	assertThat(Version.valueOf(bytes, 16, 7), equalTo(Version.valueOf("4.5.6+x")));
+	assertThrows(IllegalArgumentException.class, () -> Version.valueOf(bytes, 2, 12));
+	assertThrows(IndexOutOfBoundsException.class, () -> Version.valueOf(bytes, 20, 7));
+	byte[] utf8 = "1.0.0-\u00e4".getBytes(StandardCharsets.UTF_8);
+	assertThrows(IllegalArgumentException.class, () -> Version.valueOf(utf8, 0, utf8.length));
+    }
+
+    @Test
+    public void testValueOfByteBuffer() {
+	ByteBuffer heap = ByteBuffer.wrap("[1.2.3-beta.2+b7]".getBytes(StandardCharsets.US_ASCII), 1, 15).slice();
+	assertThat(Version.valueOf(heap), equalTo(Version.valueOf("1.2.3-beta.2+b7")));
+	assertThat(heap.position(), equalTo(0));
+	ByteBuffer direct = ByteBuffer.allocateDirect(16);
+	direct.put("xx10.20.30-rc.1".getBytes(StandardCharsets.US_ASCII));
+	direct.flip().position(2);
+	assertThat(Version.valueOf(direct), equalTo(Version.valueOf("10.20.30-rc.1")));
+	assertThat(direct.position(), equalTo(2));
+	direct.position(1);
+	assertThrows(IllegalArgumentException.class, () -> Version.valueOf(direct));
+    }
+
+    @Test
+    public void testTryParse() {
+	assertThat(Version.tryParse("1.2.3-alpha").get(), equalTo(Version.valueOf("1.2.3-alpha")));
+	assertFalse(Version.tryParse("v1.2.3").isPresent());
+	assertFalse(Version.tryParse("").isPresent());
+    }
+
+    @Test
+    public void testTryParseWithResult() {
+	VersionParseResult result = new VersionParseResult();
+	assertThat(Version.tryParse("1.2.3+b", result), equalTo(Version.valueOf("1.2.3+b")));
+	assertTrue(result.isValid());
+	assertThat(result.getErrorIndex(), equalTo(-1));
+	assertThat(result.getError(), equalTo(null));
+
+	assertTryParseError(result, "", VersionParseResult.Error.MISSING_NUMBER, 0);
+	assertTryParseError(result, "1", VersionParseResult.Error.MISSING_DOT, 1);
+	assertTryParseError(result, "1.x.3", VersionParseResult.Error.MISSING_NUMBER, 2);
+	assertTryParseError(result, "1.02.3", VersionParseResult.Error.LEADING_ZERO, 2);
+	assertTryParseError(result, "1.2.99999999999", VersionParseResult.Error.NUMBER_TOO_LARGE, 4);
+	assertTryParseError(result, "1.2.3-a..b", VersionParseResult.Error.EMPTY_IDENTIFIER, 8);
+	assertTryParseError(result, "1.2.3-a.01", VersionParseResult.Error.LEADING_ZERO, 8);
+	assertTryParseError(result, "1.2.3-a_b", VersionParseResult.Error.INVALID_CHARACTER, 7);
+	assertTryParseError(result, "1.2.3+", VersionParseResult.Error.EMPTY_IDENTIFIER, 6);
+	assertTryParseError(result, "1.2.3+a+b", VersionParseResult.Error.INVALID_CHARACTER, 7);
+	assertTryParseError(result, "1.2.3 ", VersionParseResult.Error.INVALID_CHARACTER, 5);
+    }
+
+    private void assertTryParseError(VersionParseResult result, String text, VersionParseResult.Error error,
+	    int errorIndex) {
+	assertThat(text, Version.tryParse(text, result), equalTo(null));
+	assertFalse(result.isValid());
+	assertThat(text, result.getError(), equalTo(error));
+	assertThat(text, result.getErrorIndex(), equalTo(errorIndex));
+    }
+
+    @Test
+    public void testToStringIsCached() {
+	Version version = Version.valueOf("1.2.3-rc.1+build.5");
+	assertSame(version.toString(), version.toString());
+	assertThat(version.toString(), equalTo("1.2.3-rc.1+build.5"));
+	assertThat(new Version().toString(), equalTo("-1.-1.-1"));
+    }
+
+    @Test
+    public void testAppendTo() throws IOException {
+	String[] strings = { "0.0.0", "10.200.3000", "1.2.3-rc.1", "1.2.3+build.5", "2147483647.0.1-a.b+c" };
+	for (String string : strings) {
+	    assertThat(Version.valueOf(string).appendTo(new StringBuilder("v")).toString(), equalTo("v" + string));
+	    StringWriter writer = new StringWriter();
+	    Version.valueOf(string).appendTo(writer);
+	    assertThat(writer.toString(), equalTo(string));
+	    assertThat(Version.valueOf(string).getTextLength(), equalTo(string.length()));
+	}
+	StringWriter writer = new StringWriter();
+	new Version().appendTo(writer);
+	assertThat(writer.toString(), equalTo("-1.-1.-1"));
+    }
+
+    @Test
+    public void testWriteTo() {
+	String[] strings = { "0.0.0", "10.200.3000", "1.2.3-rc.1", "1.2.3+build.5", "2147483647.0.1-a.b+c" };
+	for (String string : strings) {
+	    Version version = Version.valueOf(string);
+	    byte[] bytes = new byte[string.length() + 2];
+	    assertThat(version.writeTo(bytes, 1), equalTo(string.length()));
+	    assertThat(new String(bytes, 1, string.length(), StandardCharsets.US_ASCII), equalTo(string));
+	    ByteBuffer buffer = ByteBuffer.allocateDirect(string.length() + 1);
+	    buffer.put((byte) ' ');
+	    version.writeTo(buffer);
+	    assertFalse(buffer.hasRemaining());
+	    buffer.flip();
+	    buffer.get();
+	    assertThat(Version.valueOf(buffer), equalTo(version));
+	}
+	ByteBuffer direct = ByteBuffer.allocateDirect(16);
+	new Version().writeTo(direct);
+	direct.flip();
+	assertThat(StandardCharsets.US_ASCII.decode(direct).toString(), equalTo("-1.-1.-1"));
+	assertThrows(IndexOutOfBoundsException.class, () -> new Version(1, 0, 0).writeTo(new byte[4], 0));
+	assertThrows(BufferOverflowException.class, () -> new Version(1, 0, 0).writeTo(ByteBuffer.allocate(4)));
+    }
+
+    @Test
+    public void testHashCodeAndFingerprint() {
+	Version version = Version.valueOf("1.2.3-rc.1+build.5");
+	Version equal = Version.valueOf("1.2.3-rc.1+build.5");
+	assertThat(version.hashCode(), equalTo(equal.hashCode()));
+	assertThat(version.fingerprint(), equalTo(equal.fingerprint()));
+	assertThat(version, equalTo(equal));
+	assertFalse(version.equals(Version.valueOf("1.2.3-rc.1+build.6")));
+	assertFalse(version.fingerprint() == Version.valueOf("1.2.3-rc.1+build.6").fingerprint());
+	// the fingerprint must never change between releases
+	assertThat(Version.valueOf("1.0.0").fingerprint(), equalTo(-2320484887410105407L));
+    }
 }
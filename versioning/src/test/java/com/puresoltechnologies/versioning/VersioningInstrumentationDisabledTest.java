@@ -0,0 +1,69 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The tests run with the default configuration, so the instrumentation is
+ * disabled like for every production user. See
+ * {@link VersioningInstrumentationTest} for the enabled instrumentation.
+ */
+public class VersioningInstrumentationDisabledTest {
+
+    @Test
+    public void testDisabledByDefault() {
+	assertFalse(VersioningInstrumentation.isEnabled());
+	assertFalse(VersioningInstrumentation.EVENTS);
+	assertNull(VersioningInstrumentation.beginParse());
+	assertNull(VersioningInstrumentation.beginBulkOperation());
+    }
+
+    @Test
+    public void testMetricsAreNotCalled() {
+	AtomicInteger calls = new AtomicInteger();
+	VersioningInstrumentation.setMetrics(new VersionMetrics() {
+
+	    @Override
+	    public void parsed() {
+		calls.incrementAndGet();
+	    }
+
+	    @Override
+	    public void parseFailed() {
+		calls.incrementAndGet();
+	    }
+
+	    @Override
+	    public void cacheHit() {
+		calls.incrementAndGet();
+	    }
+
+	    @Override
+	    public void cacheMiss() {
+		calls.incrementAndGet();
+	    }
+
+	    @Override
+	    public void compared() {
+		calls.incrementAndGet();
+	    }
+	});
+	try {
+	    Version version = Version.valueOf("1.2.3-rc.1");
+	    assertFalse(Version.tryParse("1.2").isPresent());
+	    assertEquals(1, version.compareTo(new Version(1, 2, 2)));
+	    VersionCache cache = new VersionCache(16);
+	    cache.intern("2.0.0");
+	    cache.intern("2.0.0");
+	    VersionMath.parallelMax(new Version[] { new Version(1, 0, 0), new Version(2, 0, 0) });
+	    assertEquals(0, calls.get());
+	} finally {
+	    VersioningInstrumentation.setMetrics(null);
+	}
+    }
+}
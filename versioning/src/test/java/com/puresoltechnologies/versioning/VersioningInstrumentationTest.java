@@ -0,0 +1,126 @@
+package com.puresoltechnologies.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * The tests run in their own surefire execution with the instrumentation
+ * enabled. All other tests run with the default configuration, see
+ * {@link VersioningInstrumentationDisabledTest}.
+ */
+public class VersioningInstrumentationTest {
+
+    private static class CountingMetrics implements VersionMetrics {
+
+	private final AtomicInteger parsed = new AtomicInteger();
+	private final AtomicInteger parseFailed = new AtomicInteger();
+	private final AtomicInteger cacheHits = new AtomicInteger();
+	private final AtomicInteger cacheMisses = new AtomicInteger();
+	private final AtomicInteger compared = new AtomicInteger();
+
+	@Override
+	public void parsed() {
+	    parsed.incrementAndGet();
+	}
+
+	@Override
+	public void parseFailed() {
+	    parseFailed.incrementAndGet();
+	}
+
+	@Override
+	public void cacheHit() {
+	    cacheHits.incrementAndGet();
+	}
+
+	@Override
+	public void cacheMiss() {
+	    cacheMisses.incrementAndGet();
+	}
+
+	@Override
+	public void compared() {
+	    compared.incrementAndGet();
+	}
+    }
+
+    @Test
+    public void testEnabled() {
+	assertTrue(VersioningInstrumentation.isEnabled());
+    }
+
+    @Test
+    public void testMetrics() {
+	CountingMetrics metrics = new CountingMetrics();
+	VersioningInstrumentation.setMetrics(metrics);
+	try {
+	    Version version = Version.valueOf("1.2.3-rc.1");
+	    assertFalse(Version.tryParse("1.2").isPresent());
+	    assertEquals(1, version.compareTo(new Version(1, 2, 2)));
+	    VersionCache cache = new VersionCache(16);
+	    cache.intern("2.0.0");
+	    cache.intern("2.0.0");
+	    assertEquals(2, metrics.parsed.get());
+	    assertEquals(1, metrics.parseFailed.get());
+	    assertEquals(1, metrics.compared.get());
+	    assertEquals(1, metrics.cacheHits.get());
+	    assertEquals(1, metrics.cacheMisses.get());
+	} finally {
+	    VersioningInstrumentation.setMetrics(null);
+	}
+	assertSame(VersioningInstrumentation.getMetrics(), VersioningInstrumentation.getMetrics());
+	assertFalse(VersioningInstrumentation.getMetrics() instanceof CountingMetrics);
+    }
+
+    @Test
+    public void testFlightRecorderEvents() throws IOException {
+	Path file = Files.createTempFile("versioning", ".jfr");
+	try {
+	    try (Recording recording = new Recording()) {
+		recording.enable("com.puresoltechnologies.versioning.Parse");
+		recording.enable("com.puresoltechnologies.versioning.BulkOperation");
+		recording.start();
+		Version.valueOf("1.0.0-alpha");
+		Version.tryParse("01.0.0");
+		VersionMath.parallelMax(new Version[] { new Version(1, 0, 0), new Version(2, 0, 0) });
+		recording.stop();
+		recording.dump(file);
+	    }
+	    List<RecordedEvent> parseEvents = new ArrayList<>();
+	    List<RecordedEvent> bulkEvents = new ArrayList<>();
+	    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+		String name = event.getEventType().getName();
+		if (name.equals("com.puresoltechnologies.versioning.Parse")) {
+		    parseEvents.add(event);
+		} else if (name.equals("com.puresoltechnologies.versioning.BulkOperation")) {
+		    bulkEvents.add(event);
+		}
+	    }
+	    assertEquals(2, parseEvents.size());
+	    assertEquals(11, parseEvents.get(0).getInt("inputLength"));
+	    assertTrue(parseEvents.get(0).getBoolean("success"));
+	    assertEquals(6, parseEvents.get(1).getInt("inputLength"));
+	    assertFalse(parseEvents.get(1).getBoolean("success"));
+	    assertEquals(1, bulkEvents.size());
+	    assertEquals("VersionMath.parallelMax", bulkEvents.get(0).getString("operation"));
+	    assertEquals(2, bulkEvents.get(0).getInt("count"));
+	} finally {
+	    Files.delete(file);
+	}
+    }
+}
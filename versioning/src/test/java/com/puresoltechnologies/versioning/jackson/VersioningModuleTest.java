@@ -0,0 +1,65 @@
+package com.puresoltechnologies.versioning.jackson;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.puresoltechnologies.versioning.Version;
+import com.puresoltechnologies.versioning.VersionCache;
+import com.puresoltechnologies.versioning.VersionRange;
+
+public class VersioningModuleTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new VersioningModule());
+
+    @Test
+    public void testVersionRoundTrip() throws IOException {
+	Version version = Version.valueOf("1.2.3-rc.1+build.5");
+	String json = mapper.writeValueAsString(version);
+	assertEquals("\"1.2.3-rc.1+build.5\"", json);
+	assertEquals(version, mapper.readValue(json, Version.class));
+    }
+
+    @Test
+    public void testVersionList() throws IOException {
+	List<Version> versions = mapper.readValue("[\"1.0.0\", \"2.0.0-alpha\"]", new TypeReference<List<Version>>() {
+	});
+	assertEquals(Arrays.asList(new Version(1, 0, 0), Version.valueOf("2.0.0-alpha")), versions);
+    }
+
+    @Test
+    public void testVersionRangeRoundTrip() throws IOException {
+	VersionRange range = VersionRange.valueOf("[1.0.0, 2.0.0)");
+	String json = mapper.writeValueAsString(range);
+	assertEquals("\"[1.0.0, 2.0.0)\"", json);
+	assertEquals(range, mapper.readValue(json, VersionRange.class));
+	assertEquals(range, mapper.readValue("\"^1.0.0\"", VersionRange.class));
+    }
+
+    @Test
+    public void testCache() throws IOException {
+	VersionCache cache = new VersionCache(16);
+	ObjectMapper cachingMapper = new ObjectMapper().registerModule(new VersioningModule(cache));
+	Version first = cachingMapper.readValue("\"1.0.0\"", Version.class);
+	Version second = cachingMapper.readValue("\"1.0.0\"", Version.class);
+	assertSame(first, second);
+	assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testInvalidInput() {
+	assertThrows(InvalidFormatException.class, () -> mapper.readValue("\"1.0\"", Version.class));
+	assertThrows(InvalidFormatException.class, () -> mapper.readValue("\"[1.0.0\"", VersionRange.class));
+	assertThrows(MismatchedInputException.class, () -> mapper.readValue("1", Version.class));
+    }
+}